@@ -15,28 +15,56 @@
  */
 package com.mackenziehigh.cascade;
 
+import com.mackenziehigh.cascade.Cascade.Stage.Actor.BatchScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.Builder;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ConsumerErrorHandler;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.Context;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ContextErrorHandler;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ContextScript;
+import com.mackenziehigh.cascade.Cascade.Stage.Actor.IdleScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.Mailbox;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Micro Actor Framework.
@@ -161,6 +189,53 @@ public interface Cascade
                     });
                 }
 
+                /**
+                 * Define the normal behavior of the actor, such that the actor
+                 * processes the incoming messages in batches, rather than individually.
+                 *
+                 * <p>
+                 * If a script was already defined, then the given
+                 * script will replace the previously defined one.
+                 * </p>
+                 *
+                 * <p>
+                 * The actor will accumulate incoming messages, in order, into a batch.
+                 * Whenever the batch reaches the maximum size, the script will be invoked.
+                 * Likewise, whenever the oldest message in an incomplete batch has waited
+                 * for the maximum linger time, the script will be invoked, even though
+                 * the batch is not full. If the maximum linger time is zero, then an
+                 * incomplete batch will be passed to the script as soon as
+                 * the mailbox of the actor becomes empty. Lingering batches are flushed
+                 * by the shared timing-wheel; therefore, a flush may be a few milliseconds late.
+                 * </p>
+                 *
+                 * <p>
+                 * If the script throws an exception, then the error-handler will be invoked
+                 * once for the entire batch, without a message, and the batch will be discarded.
+                 * </p>
+                 *
+                 * <p>
+                 * This method also sets the batch-size of the actor to the maximum batch-size;
+                 * see <code>withBatchSize()</code>.
+                 * </p>
+                 *
+                 * <p>
+                 * The thread-safety considerations of <code>withContextScript()</code> apply here too.
+                 * </p>
+                 *
+                 * @param <X> is the type of messages the actor will consume.
+                 * @param <Y> is the type of messages the actor will produce.
+                 * @param script defines the message-handling behavior of the actor.
+                 * @param maxBatchSize is the maximum number of messages per batch.
+                 * @param maxLinger is the maximum amount of time that a message will wait for the batch to fill.
+                 * @return a modified copy of this builder.
+                 * @throws IllegalArgumentException if <code>maxBatchSize</code> is less than one.
+                 * @throws IllegalArgumentException if <code>maxLinger</code> is negative.
+                 */
+                public <X, Y> Builder<X, Y> withBatchScript (BatchScript<X, Y> script,
+                                                             int maxBatchSize,
+                                                             Duration maxLinger);
+
                 /**
                  * Define how the actor responds to unhandled exceptions.
                  *
@@ -223,6 +298,54 @@ public interface Cascade
                  */
                 public Builder<I, O> withMailbox (Mailbox<I> queue);
 
+                /**
+                 * Specify the maximum number of messages that the actor
+                 * will process each time that it is executed by the stage.
+                 *
+                 * <p>
+                 * By default, the batch-size is one; therefore, the actor
+                 * will yield control back to the stage after each message.
+                 * Larger batch-sizes reduce the scheduling overhead per message,
+                 * at the cost of allowing a busy actor to monopolize
+                 * a worker thread for longer periods of time.
+                 * </p>
+                 *
+                 * @param size is the maximum number of messages per execution.
+                 * @return a modified copy of this builder.
+                 * @throws IllegalArgumentException if <code>size</code> is less than one.
+                 */
+                public Builder<I, O> withBatchSize (int size);
+
+                /**
+                 * Specify a script that the actor will execute, whenever
+                 * the actor has not processed any messages for a period of time,
+                 * such as in order to flush buffers or release resources.
+                 *
+                 * <p>
+                 * The idle-script will be executed once per idle period.
+                 * In other words, once the idle-script executes, it will not
+                 * execute again, until the actor has processed another message
+                 * and then becomes idle again. The idle-script is executed by the actor
+                 * itself; therefore, the idle-script never executes concurrently with
+                 * the message-handling script. If the idle-script throws an exception,
+                 * then the error-handler will be invoked without a message.
+                 * </p>
+                 *
+                 * <p>
+                 * The idle-timeouts of all actors are managed by the shared timing-wheel.
+                 * Processing a message merely records the time; therefore,
+                 * idle-timeouts do not allocate any objects per message.
+                 * An idle-timeout may be detected up to a few milliseconds late.
+                 * </p>
+                 *
+                 * @param timeout is how long the actor must be idle, before executing the script.
+                 * @param script will be executed, whenever the actor becomes idle.
+                 * @return a modified copy of this builder.
+                 * @throws IllegalArgumentException if <code>timeout</code> is not positive.
+                 */
+                public Builder<I, O> withIdleTimeout (Duration timeout,
+                                                      IdleScript<I, O> script);
+
                 /**
                  * Construct the actor and add it to the stage.
                  *
@@ -246,6 +369,31 @@ public interface Cascade
                  */
                 public boolean offer (I message);
 
+                /**
+                 * Add a message to the mailbox and report whether an additional message is now pending.
+                 *
+                 * <p>
+                 * A mailbox may absorb a message into a message that is already pending,
+                 * such as by conflation or deduplication, in which case the message is accepted,
+                 * but the number of pending messages does not change. Consequently,
+                 * the actor need not be scheduled again for the absorbed message,
+                 * since the pending message will already cause the actor to run.
+                 * </p>
+                 *
+                 * <p>
+                 * By default, this method simply invokes <code>offer()</code>,
+                 * since most mailboxes never absorb messages.
+                 * </p>
+                 *
+                 * @param message will be added to the mailbox, if possible.
+                 * @return one, if the message was added, zero, if the message was absorbed,
+                 * or negative one, if the message was rejected.
+                 */
+                public default int offerPending (final I message)
+                {
+                    return offer(message) ? 1 : -1;
+                }
+
                 /**
                  * Remove a message from the mailbox.
                  *
@@ -265,6 +413,76 @@ public interface Cascade
                  * @return the message that was removed, or null, if no message was available.
                  */
                 public I poll ();
+
+                /**
+                 * Remove up to a given number of messages from the mailbox
+                 * and pass each of them, in order, to the given consumer.
+                 *
+                 * <p>
+                 * By default, this method simply invokes <code>poll()</code> repeatedly;
+                 * however, implementations may override this method in order to
+                 * remove the entire batch using a single lock acquisition, etc.
+                 * </p>
+                 *
+                 * <p>
+                 * If the consumer throws an exception, then the exception will propagate
+                 * to the caller, in which case, any messages that were already removed
+                 * from the mailbox, but not yet passed to the consumer, may be dropped.
+                 * </p>
+                 *
+                 * @param consumer will receive the removed messages.
+                 * @param max is the maximum number of messages to remove.
+                 * @return the number of messages that were passed to the consumer.
+                 */
+                public default int drain (final Consumer<? super I> consumer,
+                                          final int max)
+                {
+                    Objects.requireNonNull(consumer, "consumer");
+
+                    int count = 0;
+                    I message;
+
+                    while (count < max && (message = poll()) != null)
+                    {
+                        ++count;
+                        consumer.accept(message);
+                    }
+
+                    return count;
+                }
+
+                /**
+                 * Add each of the given messages, in order, to the mailbox,
+                 * until a message is encountered that cannot be added.
+                 *
+                 * <p>
+                 * By default, this method simply invokes <code>offer()</code> repeatedly;
+                 * however, implementations may override this method in order to
+                 * add the entire batch using a single lock acquisition, etc.
+                 * </p>
+                 *
+                 * @param messages will be added to the mailbox, if possible.
+                 * @return the number of messages that were added, which are
+                 * always the leading elements of the given collection.
+                 */
+                public default int offerAll (final Collection<? extends I> messages)
+                {
+                    Objects.requireNonNull(messages, "messages");
+
+                    int count = 0;
+
+                    for (I message : messages)
+                    {
+                        if (offer(message) == false)
+                        {
+                            break;
+                        }
+
+                        ++count;
+                    }
+
+                    return count;
+                }
             }
 
             /**
@@ -376,6 +594,90 @@ public interface Cascade
                     offer(message);
                     return this;
                 }
+
+                /**
+                 * Send a message to the actor via this input, after a delay.
+                 *
+                 * <p>
+                 * Equivalent: <code>return actor().context().sendToAfter(message, delay);</code>
+                 * </p>
+                 *
+                 * @param message will be processed by the actor, eventually,
+                 * if the message was not dropped due to capacity restrictions.
+                 * @param delay is the minimum amount of time to wait, before sending the message.
+                 * @return an object that can be used to cancel the sending of the message.
+                 * @throws NullPointerException if the <code>message</code> is null.
+                 */
+                public default TimingWheel.Timeout sendAfter (final T message,
+                                                              final Duration delay)
+                {
+                    Objects.requireNonNull(message, "message");
+                    return TimingWheel.shared().schedule(() -> offer(message), delay);
+                }
+
+                /**
+                 * Send a message to the actor via this input, periodically, until cancelled.
+                 *
+                 * <p>
+                 * Equivalent: <code>return actor().context().sendToEvery(message, period);</code>
+                 * </p>
+                 *
+                 * @param message will be processed by the actor, repeatedly,
+                 * unless the message is dropped due to capacity restrictions.
+                 * @param period is the amount of time between sends.
+                 * @return an object that can be used to stop the sending of the message.
+                 * @throws NullPointerException if the <code>message</code> is null.
+                 */
+                public default TimingWheel.Timeout sendEvery (final T message,
+                                                              final Duration period)
+                {
+                    Objects.requireNonNull(message, "message");
+                    return TimingWheel.shared().scheduleAtFixedRate(() -> offer(message), period, period);
+                }
+
+                /**
+                 * Send a batch of messages to the actor via this input, in order,
+                 * until a message is encountered that cannot be enqueued due to
+                 * insufficient capacity, in which case the remaining
+                 * messages will be silently dropped.
+                 *
+                 * <p>
+                 * Unlike invoking <code>offer()</code> repeatedly, the entire batch
+                 * is added to the underlying mailbox in bulk and the actor
+                 * is only scheduled once for the entire batch.
+                 * </p>
+                 *
+                 * <p>
+                 * Equivalent: <code>return actor().context().offerAllTo(messages);</code>
+                 * </p>
+                 *
+                 * @param messages will be processed by the actor, eventually,
+                 * if the messages are not dropped due to capacity restrictions.
+                 * @return the number of messages that were added to the underlying mailbox,
+                 * which are always the leading elements of the given collection.
+                 * @throws NullPointerException if any of the <code>messages</code> are null.
+                 */
+                public default int offerAll (final Collection<? extends T> messages)
+                {
+                    return actor().context().offerAllTo(messages);
+                }
+
+                /**
+                 * Send a batch of messages to the actor via this input.
+                 *
+                 * <p>
+                 * Equivalent: <code>offerAll(messages); return this;</code>
+                 * </p>
+                 *
+                 * @param messages will be processed by the actor, eventually,
+                 * if the messages are not dropped due to capacity restrictions.
+                 * @return this.
+                 */
+                public default Input<T> sendAll (final Collection<? extends T> messages)
+                {
+                    offerAll(messages);
+                    return this;
+                }
             }
 
             /**
@@ -460,6 +762,37 @@ public interface Cascade
                  */
                 public boolean offerTo (I message);
 
+                /**
+                 * Offer a batch of messages <b>to</b> the enclosing actor.
+                 *
+                 * <p>
+                 * By default, this method simply invokes <code>offerTo()</code> repeatedly;
+                 * however, implementations may override this method in order to
+                 * add the entire batch to the underlying mailbox in bulk.
+                 * </p>
+                 *
+                 * @param messages are the messages to send to the actor.
+                 * @return the number of leading messages that were added to the underlying mailbox.
+                 */
+                public default int offerAllTo (final Collection<? extends I> messages)
+                {
+                    Objects.requireNonNull(messages, "messages");
+
+                    int count = 0;
+
+                    for (I message : messages)
+                    {
+                        if (offerTo(message) == false)
+                        {
+                            break;
+                        }
+
+                        ++count;
+                    }
+
+                    return count;
+                }
+
                 /**
                  * Offer a message <b>from</b> the enclosing actor.
                  *
@@ -480,6 +813,49 @@ public interface Cascade
                     return this;
                 }
 
+                /**
+                 * Send a message <b>to</b> the enclosing actor, after a delay.
+                 *
+                 * <p>
+                 * The message is offered to the actor by the shared timing-wheel;
+                 * therefore, the message will be dropped, if the mailbox
+                 * lacks sufficient capacity, when the delay expires.
+                 * However, the message is admitted, when the message is scheduled;
+                 * therefore, a graceful shutdown of the stage will wait for the message.
+                 * </p>
+                 *
+                 * @param message is the message to send to the actor.
+                 * @param delay is the minimum amount of time to wait, before sending the message.
+                 * @return an object that can be used to cancel the sending of the message.
+                 * @throws NullPointerException if the <code>message</code> is null.
+                 */
+                public default TimingWheel.Timeout sendToAfter (final I message,
+                                                                final Duration delay)
+                {
+                    Objects.requireNonNull(message, "message");
+                    return TimingWheel.shared().schedule(() -> offerTo(message), delay);
+                }
+
+                /**
+                 * Send a message <b>to</b> the enclosing actor, periodically, until cancelled.
+                 *
+                 * <p>
+                 * The message is offered to the actor by the shared timing-wheel,
+                 * which is useful for sending periodic ticks to the actor.
+                 * </p>
+                 *
+                 * @param message is the message to send to the actor, repeatedly.
+                 * @param period is the amount of time between sends.
+                 * @return an object that can be used to stop the sending of the message.
+                 * @throws NullPointerException if the <code>message</code> is null.
+                 */
+                public default TimingWheel.Timeout sendToEvery (final I message,
+                                                                final Duration period)
+                {
+                    Objects.requireNonNull(message, "message");
+                    return TimingWheel.shared().scheduleAtFixedRate(() -> offerTo(message), period, period);
+                }
+
                 /**
                  * Send a message <b>from</b> the enclosing actor.
                  *
@@ -516,6 +892,54 @@ public interface Cascade
                         throws Throwable;
             }
 
+            /**
+             * Actor Behavior, which processes messages in batches.
+             *
+             * @param <I> is the type of messages that the actor will consume.
+             * @param <O> is the type of messages that the actor will produce.
+             */
+            @FunctionalInterface
+            public interface BatchScript<I, O>
+            {
+                /**
+                 * This method will be invoked by the enclosing actor
+                 * in order to process batches of incoming messages.
+                 *
+                 * <p>
+                 * The list is reused by the actor for subsequent batches;
+                 * therefore, the script must not retain a reference
+                 * to the list after this method returns.
+                 * </p>
+                 *
+                 * @param context can be used to send messages from the actor, etc.
+                 * @param batch is an unmodifiable non-empty list of messages in arrival order.
+                 * @throws Throwable or a sub-class thereof, at the discretion of the implementation.
+                 */
+                public void onInput (Context<I, O> context,
+                                     List<I> batch)
+                        throws Throwable;
+            }
+
+            /**
+             * Actor Behavior, which executes when the actor has been idle for a period of time.
+             *
+             * @param <I> is the type of messages that the actor will consume.
+             * @param <O> is the type of messages that the actor will produce.
+             */
+            @FunctionalInterface
+            public interface IdleScript<I, O>
+            {
+                /**
+                 * This method will be invoked by the enclosing actor,
+                 * whenever the actor becomes idle.
+                 *
+                 * @param context can be used to send messages from the actor, etc.
+                 * @throws Throwable or a sub-class thereof, at the discretion of the implementation.
+                 */
+                public void onIdle (Context<I, O> context)
+                        throws Throwable;
+            }
+
             /**
              * Actor Behavior.
              *
@@ -753,43 +1177,212 @@ public interface Cascade
         public <I, O> Actor.Builder<I, O> newActor ();
 
         /**
-         * Asynchronously shutdown this stage, as soon as reasonably possible.
+         * Specify how to create the mailbox of each actor that is subsequently
+         * created on this stage, unless the actor is explicitly given
+         * a mailbox via <code>Builder.withMailbox()</code>.
          *
          * <p>
-         * Subsequent invocations of this method are idempotent.
+         * By default, each actor uses a <code>ConcurrentLinkedQueueMailbox</code>.
+         * </p>
+         *
+         * <p>
+         * The factory must return a new mailbox each time that it is invoked,
+         * since mailboxes cannot be shared by multiple actors.
          * </p>
+         *
+         * @param factory will create the default mailboxes of future actors.
+         * @return this.
          */
-        public void close ();
-    }
-
-    /**
-     * A <code>Mailbox</code> implementation based on a <code>ConcurrentLinkedQueue</code>.
-     *
-     * @param <I> is the type of messages that will be stored in the mailbox.
-     */
-    public static final class ConcurrentLinkedQueueMailbox<I>
-            implements Mailbox<I>
-    {
-        private final ConcurrentLinkedQueue<I> queue;
-
-        private ConcurrentLinkedQueueMailbox (final ConcurrentLinkedQueue<I> queue)
-        {
-            this.queue = queue;
-        }
+        public Stage defaultMailbox (Supplier<? extends Mailbox<?>> factory);
 
         /**
-         * Create a new mailbox.
+         * Enable, or disable, inline dispatch of messages between the actors on this stage.
          *
-         * @param <I> is the type of messages that will be stored in the mailbox.
-         * @return the new mailbox.
+         * <p>
+         * When inline dispatch is enabled, and an actor on this stage sends a message
+         * to another actor on this stage, which is idle and has no pending messages,
+         * then the sending thread will immediately process the message using the script
+         * of the recipient, rather than enqueuing the message in the mailbox of the recipient
+         * and then waiting for the stage to schedule the recipient. Consequently,
+         * a hop through a deep pipeline of actors costs little more than a method call.
+         * </p>
+         *
+         * <p>
+         * The recipient is still never executed by two threads concurrently.
+         * If the recipient is busy, or has pending messages, or has a batch-script,
+         * then the message is enqueued in the mailbox as usual.
+         * Likewise, messages sent from threads that are not
+         * currently executing an actor on this stage are enqueued as usual.
+         * Since the mailbox is bypassed, inline dispatch should not be used with
+         * mailboxes that may reject messages, even when the mailbox is empty.
+         * </p>
+         *
+         * <p>
+         * Since each inline dispatch occurs on the stack of the sender,
+         * the depth of nested inline dispatches is limited; thereafter,
+         * messages are enqueued as usual. Inline dispatches also run the
+         * recipient on the thread of the sender, regardless of any thread-affinity
+         * that the stage would otherwise impose upon the recipient.
+         * </p>
+         *
+         * <p>
+         * By default, inline dispatch is disabled.
+         * </p>
+         *
+         * @param maxDepth is the maximum depth of nested inline dispatches, or zero to disable.
+         * @return this.
          */
-        public static <I> Mailbox<I> create ()
-        {
-            return new ConcurrentLinkedQueueMailbox<>(new ConcurrentLinkedQueue<>());
-        }
+        public Stage inlineDispatch (int maxDepth);
 
         /**
-         * {@inheritDoc}
+         * Enable, or disable, the fusion of linear pipelines of actors on this stage.
+         *
+         * <p>
+         * When fusion is enabled, and the output of an actor is connected to exactly
+         * one input, which is the input of another actor on this stage, and no other
+         * outputs are connected to that input, then the two actors are fused.
+         * In effect, the fused actors behave as one actor, whose execution invokes
+         * the scripts of the fused actors back-to-back on the same thread,
+         * without enqueuing the intermediate messages in mailboxes.
+         * Thus, a chain of actors, which are connected one-to-one,
+         * is compiled into a single fused actor.
+         * </p>
+         *
+         * <p>
+         * Fusion is automatically undone, whenever a further connection is made,
+         * which violates the one-to-one requirement, such as connecting a tap
+         * to the output of an actor in the middle of the chain.
+         * Likewise, fusion is automatically restored, if the connection is later removed.
+         * </p>
+         *
+         * <p>
+         * The fused actors are still never executed by two threads concurrently.
+         * If the downstream actor is busy, or has pending messages, such as messages
+         * sent directly to its input, or has a batch-script, then the message
+         * is enqueued in its mailbox as usual. In order to avoid stack overflows,
+         * the length of a fused chain is limited; thereafter, a very long chain
+         * is broken into multiple fused chains. Since the mailboxes of the
+         * downstream actors are bypassed, fusion should not be used with
+         * mailboxes that may reject messages, even when the mailbox is empty.
+         * </p>
+         *
+         * <p>
+         * By default, fusion is disabled.
+         * </p>
+         *
+         * @param enabled is true, if fusion shall be enabled.
+         * @return this.
+         */
+        public Stage fusion (boolean enabled);
+
+        /**
+         * Specify how this stage responds, when it is unable to schedule an actor,
+         * such as when this stage is based on a bounded executor that is saturated.
+         *
+         * <p>
+         * By default, this stage closes itself, when it is unable to schedule an actor.
+         * </p>
+         *
+         * @param policy will handle any failures to schedule actors.
+         * @return this.
+         */
+        public Stage overloadPolicy (OverloadPolicy policy);
+
+        /**
+         * Asynchronously shutdown this stage, as soon as reasonably possible.
+         *
+         * <p>
+         * Once closed, the actors on this stage will reject any further messages,
+         * and any messages that are still pending will never be processed.
+         * Use <code>unprocessed()</code> in order to find out which messages were lost.
+         * </p>
+         *
+         * <p>
+         * Subsequent invocations of this method are idempotent.
+         * </p>
+         */
+        public void close ();
+
+        /**
+         * Asynchronously and gracefully shutdown this stage.
+         *
+         * <p>
+         * Immediately, the actors on this stage stop admitting messages sent
+         * from outside of this stage; however, the actors continue to admit
+         * messages sent from other actors on this stage. Thus, the actors drain
+         * their mailboxes, including any messages that the actors send to each other
+         * in response to the pending messages. Once all of the actors are idle,
+         * or the deadline expires, whichever occurs first, this stage will be closed.
+         * </p>
+         *
+         * <p>
+         * Any periodic sends to the actors are cancelled immediately; however,
+         * any delayed sends that were scheduled beforehand are still delivered,
+         * if their delays expire before the deadline.
+         * </p>
+         *
+         * <p>
+         * Subsequent invocations of this method are idempotent.
+         * </p>
+         *
+         * @param deadline is the maximum amount of time to spend draining the mailboxes.
+         * @return this.
+         */
+        public Stage shutdown (Duration deadline);
+
+        /**
+         * Wait for this stage to close and for all of the actors to stop running.
+         *
+         * @param timeout is the maximum amount of time to wait.
+         * @return true, if the stage terminated, or false, if the timeout expired.
+         * @throws InterruptedException if the calling thread is interrupted while waiting.
+         */
+        public boolean awaitTermination (Duration timeout)
+                throws InterruptedException;
+
+        /**
+         * Get the number of pending messages of each actor on this stage,
+         * which have not been processed yet.
+         *
+         * <p>
+         * Actors without any pending messages are omitted from the result.
+         * After the stage terminates, the result describes the messages that were lost.
+         * The counts are approximate, while the actors are running.
+         * </p>
+         *
+         * @return an immutable map that maps actors to their number of unprocessed messages.
+         */
+        public Map<Actor<?, ?>, Long> unprocessed ();
+    }
+
+    /**
+     * A <code>Mailbox</code> implementation based on a <code>ConcurrentLinkedQueue</code>.
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class ConcurrentLinkedQueueMailbox<I>
+            implements Mailbox<I>
+    {
+        private final ConcurrentLinkedQueue<I> queue;
+
+        private ConcurrentLinkedQueueMailbox (final ConcurrentLinkedQueue<I> queue)
+        {
+            this.queue = queue;
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @return the new mailbox.
+         */
+        public static <I> Mailbox<I> create ()
+        {
+            return new ConcurrentLinkedQueueMailbox<>(new ConcurrentLinkedQueue<>());
+        }
+
+        /**
+         * {@inheritDoc}
          */
         @Override
         public boolean offer (final I message)
@@ -797,6 +1390,23 @@ public interface Cascade
             return queue.offer(message);
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are linked together privately and then
+         * appended to the queue using a single atomic operation.
+         * </p>
+         */
+        @Override
+        public int offerAll (final Collection<? extends I> messages)
+        {
+            Objects.requireNonNull(messages, "messages");
+            final int count = messages.size();
+            queue.addAll(messages);
+            return count;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -817,6 +1427,12 @@ public interface Cascade
     {
         private final LinkedBlockingQueue<I> queue;
 
+        /**
+         * This list is reused by <code>drain()</code>, which is only invoked by the consumer,
+         * so that removing a batch of messages does not allocate a temporary list.
+         */
+        private final ArrayList<I> buffer = new ArrayList<>();
+
         private LinkedBlockingQueueMailbox (final LinkedBlockingQueue<I> queue)
         {
             this.queue = queue;
@@ -862,6 +1478,20 @@ public interface Cascade
         {
             return queue.poll();
         }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are removed using a single lock acquisition.
+         * </p>
+         */
+        @Override
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
+        {
+            return drainBatch(queue, buffer, consumer, max);
+        }
     }
 
     /**
@@ -874,6 +1504,12 @@ public interface Cascade
     {
         private final ArrayBlockingQueue<I> queue;
 
+        /**
+         * This list is reused by <code>drain()</code>, which is only invoked by the consumer,
+         * so that removing a batch of messages does not allocate a temporary list.
+         */
+        private final ArrayList<I> buffer = new ArrayList<>();
+
         private ArrayBlockingQueueMailbox (final ArrayBlockingQueue<I> queue)
         {
             this.queue = queue;
@@ -908,6 +1544,20 @@ public interface Cascade
         {
             return queue.poll();
         }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are removed using a single lock acquisition.
+         * </p>
+         */
+        @Override
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
+        {
+            return drainBatch(queue, buffer, consumer, max);
+        }
     }
 
     /**
@@ -920,6 +1570,12 @@ public interface Cascade
     {
         private final ArrayDeque<I> queue;
 
+        /**
+         * This list is reused by <code>drain()</code>, which is only invoked by the consumer,
+         * so that removing a batch of messages does not allocate a temporary list.
+         */
+        private final ArrayList<I> buffer = new ArrayList<>();
+
         private final int capacity;
 
         private ArrayDequeMailbox (final ArrayDeque<I> queue,
@@ -975,6 +1631,65 @@ public interface Cascade
         {
             return queue.poll();
         }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are removed using a single lock acquisition;
+         * however, the consumer is invoked outside of the lock.
+         * </p>
+         */
+        @Override
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
+        {
+            Objects.requireNonNull(consumer, "consumer");
+
+            synchronized (this)
+            {
+                final int count = Math.min(max, queue.size());
+
+                if (count <= 0)
+                {
+                    return 0;
+                }
+
+                for (int i = 0; i < count; i++)
+                {
+                    buffer.add(queue.poll());
+                }
+            }
+
+            return deliverBatch(buffer, consumer);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are added using a single lock acquisition.
+         * </p>
+         */
+        @Override
+        public synchronized int offerAll (final Collection<? extends I> messages)
+        {
+            Objects.requireNonNull(messages, "messages");
+
+            int count = 0;
+
+            for (I message : messages)
+            {
+                if (queue.size() == capacity || queue.offer(message) == false)
+                {
+                    break;
+                }
+
+                ++count;
+            }
+
+            return count;
+        }
     }
 
     /**
@@ -987,6 +1702,12 @@ public interface Cascade
     {
         private final PriorityBlockingQueue<I> queue;
 
+        /**
+         * This list is reused by <code>drain()</code>, which is only invoked by the consumer,
+         * so that removing a batch of messages does not allocate a temporary list.
+         */
+        private final ArrayList<I> buffer = new ArrayList<>();
+
         private PriorityBlockingQueueMailbox (final PriorityBlockingQueue<I> queue)
         {
             this.queue = queue;
@@ -1023,12 +1744,31 @@ public interface Cascade
         {
             return queue.poll();
         }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The messages are removed using a single lock acquisition.
+         * </p>
+         */
+        @Override
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
+        {
+            return drainBatch(queue, buffer, consumer, max);
+        }
     }
 
     /**
      * A <code>Mailbox</code> implementation based on an <code>ArrayDeque</code>,
      * which behaves like a ring-buffer data-structure.
      *
+     * <p>
+     * See also the <code>OverwritingArrayMailbox</code>, which provides
+     * the same semantics, but without a lock.
+     * </p>
+     *
      * @param <I> is the type of messages that will be stored in the mailbox.
      */
     public static final class CircularArrayDequeMailbox<I>
@@ -1036,6 +1776,12 @@ public interface Cascade
     {
         private final ArrayDeque<I> queue;
 
+        /**
+         * This list is reused by <code>drain()</code>, which is only invoked by the consumer,
+         * so that removing a batch of messages does not allocate a temporary list.
+         */
+        private final ArrayList<I> buffer = new ArrayList<>();
+
         private final int capacity;
 
         private CircularArrayDequeMailbox (final ArrayDeque<I> queue,
@@ -1094,485 +1840,5940 @@ public interface Cascade
         {
             return queue.poll();
         }
-    }
-
-    /**
-     * Partial Implementation of <code>Stage</code>.
-     */
-    public static abstract class AbstractStage
-            implements Cascade.Stage
-    {
-        private final Stage STAGE = this;
-
-        private final AtomicBoolean stageClosed = new AtomicBoolean(false);
 
         /**
-         * This method will be invoked whenever an actor needs executed.
-         *
-         * <p>
-         * This method will not be re-invoked, until the actor finishes
-         * being executed, even if the actor determines that it needs
-         * to be executed again. Rather, the actor will invoke this
-         * method again, if needed, at the end of its execution.
-         * This strategy helps ensure that no two threads will
-         * ever power the actor concurrently. Moreover,
-         * this strategy lessons the amount of memory used
-         * by some implementations in order to schedule actors.
-         * </p>
+         * {@inheritDoc}
          *
          * <p>
-         * Implementations of this method should never throw exceptions.
-         * If an exception or error is thrown, then the stage will be closed.
+         * The messages are removed using a single lock acquisition;
+         * however, the consumer is invoked outside of the lock.
          * </p>
-         *
-         * @param actor needs to be <code>run()</code> at some point in the future.
-         */
-        protected abstract void onRunnable (DefaultActor<?, ?> actor);
-
-        /**
-         * This method will be invoked when this stage closes.
-         */
-        protected abstract void onClose ();
-
-        /**
-         * {@inheritDoc}
          */
         @Override
-        public final <I, O> Actor.Builder<I, O> newActor ()
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
         {
-            return new DefaultActorBuilder<>();
-        }
+            Objects.requireNonNull(consumer, "consumer");
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public final void close ()
-        {
-            if (stageClosed.compareAndSet(false, true))
+            synchronized (this)
             {
-                onClose();
+                final int count = Math.min(max, queue.size());
+
+                if (count <= 0)
+                {
+                    return 0;
+                }
+
+                for (int i = 0; i < count; i++)
+                {
+                    buffer.add(queue.poll());
+                }
             }
+
+            return deliverBatch(buffer, consumer);
         }
 
         /**
-         * This method protects against exceptions thrown in the overridden <code>onSubmit()</code> method.
-         * If an exception is thrown in that method, then the stage must be shutdown,
-         * since we would be unable to ensure that all pending tasks get executed.
+         * {@inheritDoc}
          *
-         * @param actor needs scheduled for execution.
+         * <p>
+         * The messages are added using a single lock acquisition.
+         * </p>
          */
-        private void safelySchedule (final DefaultActor<?, ?> actor)
+        @Override
+        public synchronized int offerAll (final Collection<? extends I> messages)
         {
-            try
-            {
-                onRunnable(actor);
-            }
-            catch (Throwable ex)
+            Objects.requireNonNull(messages, "messages");
+
+            for (I message : messages)
             {
-                close();
-            }
-        }
+                if (queue.size() == capacity)
+                {
+                    queue.poll();
+                }
+
+                queue.offer(message);
+            }
+
+            return messages.size();
+        }
+    }
+
+    /**
+     * A lock-free bounded <code>Mailbox</code> implementation based on a ring-buffer,
+     * which supports multiple concurrent producers, but only a single consumer.
+     *
+     * <p>
+     * Since an actor only ever polls its mailbox from one thread at a time,
+     * this mailbox is safe to use with any actor, regardless of how many
+     * outputs are connected to the input of the actor.
+     * </p>
+     *
+     * <p>
+     * The capacity is rounded up to the nearest power-of-two.
+     * After construction, no objects are allocated by either <code>offer()</code>
+     * or <code>poll()</code>; moreover, neither method ever blocks on a lock.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class MpscArrayMailbox<I>
+            implements Mailbox<I>
+    {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private static final VarHandle OBJECTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+        /**
+         * The head and tail counters are stored in this array, rather than in fields,
+         * so that they can be separated by padding. Since the JVM does not re-order
+         * the elements of an array, the counters are guaranteed to reside on
+         * different cache-lines, which avoids false-sharing between
+         * the producers and the consumer.
+         */
+        private static final int TAIL = 16;
+
+        private static final int HEAD = 32;
+
+        private static final int COUNTERS = 48;
+
+        private final long[] counters = new long[COUNTERS];
+
+        /**
+         * Each slot has a sequence number, which indicates whether the slot is
+         * ready to be written by a producer or ready to be read by the consumer.
+         */
+        private final long[] sequences;
+
+        private final Object[] buffer;
+
+        private final int mask;
+
+        private MpscArrayMailbox (final int capacity)
+        {
+            this.buffer = new Object[capacity];
+            this.sequences = new long[capacity];
+            this.mask = capacity - 1;
+
+            for (int i = 0; i < capacity; i++)
+            {
+                LONGS.setRelease(sequences, i, (long) i);
+            }
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param capacity is the maximum number of messages that can be stored simultaneously,
+         * which will be rounded up to the nearest power-of-two.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>capacity</code> is less than one or too large.
+         */
+        public static <I> Mailbox<I> create (final int capacity)
+        {
+            return new MpscArrayMailbox<>(powerOfTwo(capacity));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            while (true)
+            {
+                final long tail = (long) LONGS.getVolatile(counters, TAIL);
+                final int index = (int) tail & mask;
+                final long sequence = (long) LONGS.getAcquire(sequences, index);
+
+                if (sequence == tail)
+                {
+                    /**
+                     * The slot is free; therefore, try to claim it.
+                     * If another producer claims it first, then retry.
+                     */
+                    if (LONGS.compareAndSet(counters, TAIL, tail, tail + 1))
+                    {
+                        OBJECTS.setRelease(buffer, index, message);
+                        LONGS.setRelease(sequences, index, tail + 1);
+                        return true;
+                    }
+                }
+                else if (sequence < tail)
+                {
+                    /**
+                     * The consumer has not yet freed the slot; therefore, the buffer is full.
+                     */
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Rather than claiming one slot at a time, this method claims
+         * as many free slots as possible using a single atomic operation.
+         * Since the consumer frees the slots in order, every slot
+         * before the head position is known to be free.
+         * </p>
+         */
+        @Override
+        public int offerAll (final Collection<? extends I> messages)
+        {
+            final Object[] array = messages.toArray();
+            requireNonNullElements(array);
+
+            int count = 0;
+
+            while (count < array.length)
+            {
+                final long tail = (long) LONGS.getVolatile(counters, TAIL);
+                final long head = (long) LONGS.getAcquire(counters, HEAD);
+                final int claim = (int) Math.min(array.length - count, buffer.length - (tail - head));
+
+                if (claim <= 0)
+                {
+                    break;
+                }
+                else if (LONGS.compareAndSet(counters, TAIL, tail, tail + claim))
+                {
+                    for (int i = 0; i < claim; i++)
+                    {
+                        final int index = (int) (tail + i) & mask;
+                        OBJECTS.setRelease(buffer, index, array[count + i]);
+                        LONGS.setRelease(sequences, index, tail + i + 1);
+                    }
+
+                    count += claim;
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free.
+         * </p>
+         */
+        @Override
+        public I poll ()
+        {
+            final long head = (long) LONGS.getOpaque(counters, HEAD);
+            final int index = (int) head & mask;
+
+            if ((long) LONGS.getAcquire(sequences, index) != head + 1)
+            {
+                if ((long) LONGS.getVolatile(counters, TAIL) == head)
+                {
+                    return null;
+                }
+
+                /**
+                 * A producer has claimed the slot, but has not finished writing it yet.
+                 * We must wait, since the mailbox contract forbids returning null
+                 * while any message is in the mailbox. The producer is only
+                 * a couple of instructions away from publishing the message.
+                 */
+                while ((long) LONGS.getAcquire(sequences, index) != head + 1)
+                {
+                    Thread.onSpinWait();
+                }
+            }
+
+            final I message = (I) OBJECTS.getAcquire(buffer, index);
+            OBJECTS.setOpaque(buffer, index, null);
+            LONGS.setRelease(sequences, index, head + buffer.length);
+            LONGS.setRelease(counters, HEAD, head + 1);
+            return message;
+        }
+
+        static int powerOfTwo (final int capacity)
+        {
+            if (capacity < 1 || capacity > (1 << 30))
+            {
+                throw new IllegalArgumentException("capacity");
+            }
+
+            return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        }
+
+        /**
+         * A null message would be published into a slot and counted,
+         * but could never be polled; therefore, the entire batch
+         * is rejected, before any of the messages are published.
+         */
+        static void requireNonNullElements (final Object[] messages)
+        {
+            for (Object message : messages)
+            {
+                Objects.requireNonNull(message, "message");
+            }
+        }
+    }
+
+    /**
+     * A lock-free bounded <code>Mailbox</code> implementation based on a ring-buffer,
+     * which overwrites the oldest message, when a message is offered while the buffer is full.
+     *
+     * <p>
+     * This mailbox has the same semantics as the <code>CircularArrayDequeMailbox</code>;
+     * however, this mailbox does not serialize the producers on a lock,
+     * which matters most precisely when the actor is overloaded.
+     * When the buffer is full, a producer removes the oldest message itself,
+     * competing with the consumer using the same atomic operation on the head,
+     * and then retries the insertion.
+     * </p>
+     *
+     * <p>
+     * Unlike the <code>MpscArrayMailbox</code>, the capacity is not rounded,
+     * since the capacity determines which messages are overwritten.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class OverwritingArrayMailbox<I>
+            implements Mailbox<I>
+    {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private static final VarHandle OBJECTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+        /**
+         * See <code>MpscArrayMailbox</code> regarding the padding of the counters.
+         */
+        private static final int TAIL = 16;
+
+        private static final int HEAD = 32;
+
+        private static final int COUNTERS = 48;
+
+        private final long[] counters = new long[COUNTERS];
+
+        /**
+         * Each slot has a sequence number, which is twice the position that
+         * the slot is ready to be written at, or one more than that,
+         * if the message at that position is ready to be read.
+         * Unlike the <code>MpscArrayMailbox</code>, the sequence numbers are doubled,
+         * since otherwise a capacity of one would be ambiguous.
+         */
+        private final long[] sequences;
+
+        private final Object[] buffer;
+
+        private final Consumer<? super I> onDrop;
+
+        private final LongAdder overwritten = new LongAdder();
+
+        private OverwritingArrayMailbox (final int capacity,
+                                         final Consumer<? super I> onDrop)
+        {
+            this.buffer = new Object[capacity];
+            this.sequences = new long[capacity];
+            this.onDrop = onDrop;
+
+            for (int i = 0; i < capacity; i++)
+            {
+                LONGS.setRelease(sequences, i, 2L * i);
+            }
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param capacity is the maximum number of messages that can be stored simultaneously.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>capacity</code> is less than one.
+         */
+        public static <I> OverwritingArrayMailbox<I> create (final int capacity)
+        {
+            return create(capacity, null);
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * <p>
+         * The callback is invoked by the producer whose message caused the overwrite.
+         * Exceptions thrown by the callback are ignored.
+         * </p>
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param capacity is the maximum number of messages that can be stored simultaneously.
+         * @param onDrop will be given each message that is overwritten, or null, if not needed.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>capacity</code> is less than one.
+         */
+        public static <I> OverwritingArrayMailbox<I> create (final int capacity,
+                                                             final Consumer<? super I> onDrop)
+        {
+            if (capacity < 1)
+            {
+                throw new IllegalArgumentException("capacity < 1");
+            }
+
+            return new OverwritingArrayMailbox<>(capacity, onDrop);
+        }
+
+        /**
+         * Get the number of messages that were removed from the mailbox,
+         * in order to make room for newer messages.
+         *
+         * @return the number of overwritten messages.
+         */
+        public long overwrittenCount ()
+        {
+            return overwritten.sum();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free and always returns true.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            final int capacity = buffer.length;
+
+            while (true)
+            {
+                final long tail = (long) LONGS.getVolatile(counters, TAIL);
+                final int index = (int) (tail % capacity);
+                final long sequence = (long) LONGS.getAcquire(sequences, index);
+
+                if (sequence == 2 * tail)
+                {
+                    if (LONGS.compareAndSet(counters, TAIL, tail, tail + 1))
+                    {
+                        OBJECTS.setRelease(buffer, index, message);
+                        LONGS.setRelease(sequences, index, 2 * tail + 1);
+                        return true;
+                    }
+                }
+                else if (sequence < 2 * tail)
+                {
+                    /**
+                     * If the head has already moved, then a consumer is
+                     * only a couple of instructions away from freeing the slot.
+                     * Otherwise, the buffer is full; therefore, remove the oldest message.
+                     */
+                    if (tail - (long) LONGS.getVolatile(counters, HEAD) < capacity)
+                    {
+                        Thread.onSpinWait();
+                    }
+                    else
+                    {
+                        drop(poll());
+                    }
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free.
+         * </p>
+         */
+        @Override
+        public I poll ()
+        {
+            final int capacity = buffer.length;
+
+            while (true)
+            {
+                final long head = (long) LONGS.getVolatile(counters, HEAD);
+                final int index = (int) (head % capacity);
+                final long sequence = (long) LONGS.getAcquire(sequences, index);
+
+                if (sequence == 2 * head + 1)
+                {
+                    /**
+                     * Producers may also remove messages, when the buffer is full;
+                     * therefore, unlike the MpscArrayMailbox, the head must be claimed atomically.
+                     */
+                    if (LONGS.compareAndSet(counters, HEAD, head, head + 1))
+                    {
+                        final I message = (I) OBJECTS.getAcquire(buffer, index);
+                        OBJECTS.setOpaque(buffer, index, null);
+                        LONGS.setRelease(sequences, index, 2 * (head + capacity));
+                        return message;
+                    }
+                }
+                else if (sequence < 2 * head + 1)
+                {
+                    if ((long) LONGS.getVolatile(counters, TAIL) == head)
+                    {
+                        return null;
+                    }
+
+                    /**
+                     * A producer has claimed the slot, but has not finished writing it yet.
+                     */
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        private void drop (final I message)
+        {
+            if (message == null)
+            {
+                return;
+            }
+
+            overwritten.increment();
+
+            if (onDrop != null)
+            {
+                try
+                {
+                    onDrop.accept(message);
+                }
+                catch (Throwable ignored)
+                {
+                    // Pass, because the sender of the newer message is not responsible for the error.
+                }
+            }
+        }
+    }
+
+    /**
+     * A lock-free unbounded <code>Mailbox</code> implementation based on a linked-list
+     * of fixed-size array chunks, which supports multiple concurrent producers,
+     * but only a single consumer.
+     *
+     * <p>
+     * Unlike a <code>ConcurrentLinkedQueue</code>, which allocates a node per message,
+     * this mailbox only allocates an object when a new chunk is needed.
+     * Moreover, when the consumer finishes a chunk, the chunk is retained
+     * as a spare, so that a producer can reuse it instead of allocating.
+     * Thus, a mailbox whose backlog stays within a chunk or two will
+     * usually not allocate at all, once it reaches a steady-state.
+     * </p>
+     *
+     * <p>
+     * The chunk-size is rounded up to the nearest power-of-two.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class MpscChunkedMailbox<I>
+            implements Mailbox<I>
+    {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private static final VarHandle OBJECTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+        private static final VarHandle PRODUCER_CHUNK;
+
+        private static final VarHandle SPARE;
+
+        static
+        {
+            try
+            {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                PRODUCER_CHUNK = lookup.findVarHandle(MpscChunkedMailbox.class, "producerChunk", Chunk.class);
+                SPARE = lookup.findVarHandle(MpscChunkedMailbox.class, "spare", Chunk.class);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        /**
+         * See <code>MpscArrayMailbox</code> regarding the padding of the counters.
+         */
+        private static final int TAIL = 16;
+
+        private static final int COUNTERS = 32;
+
+        /**
+         * The tail counter is the total number of messages ever offered.
+         * Each producer claims a unique position in the logical sequence
+         * of messages by atomically incrementing this counter.
+         */
+        private final long[] counters = new long[COUNTERS];
+
+        private final int shift;
+
+        private final int mask;
+
+        /**
+         * This is the most recently appended chunk.
+         */
+        private volatile Chunk producerChunk;
+
+        /**
+         * This is a chunk that the consumer finished, which can be reused.
+         */
+        private volatile Chunk spare;
+
+        /**
+         * This is the chunk that the consumer is currently reading,
+         * which is only ever accessed by the consumer.
+         */
+        private Chunk consumerChunk;
+
+        /**
+         * This is the position of the next message that the consumer will read,
+         * which is only ever accessed by the consumer.
+         */
+        private long consumerIndex = 0;
+
+        /**
+         * A fixed-size segment of the logical sequence of messages.
+         */
+        private static final class Chunk
+        {
+            /**
+             * Chunk (N) stores the messages at positions [N * size, (N + 1) * size).
+             * When a chunk is reused, it is assigned a new index;
+             * therefore, producers use the index to detect stale chunks.
+             */
+            volatile long index;
+
+            volatile Chunk next;
+
+            volatile Chunk prev;
+
+            final Object[] slots;
+
+            Chunk (final long index,
+                   final int size)
+            {
+                this.index = index;
+                this.slots = new Object[size];
+            }
+        }
+
+        private MpscChunkedMailbox (final int chunkSize)
+        {
+            this.shift = Integer.numberOfTrailingZeros(chunkSize);
+            this.mask = chunkSize - 1;
+            this.consumerChunk = new Chunk(0, chunkSize);
+            this.producerChunk = consumerChunk;
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * <p>
+         * The mailbox will use chunks that store (1024) messages each.
+         * </p>
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @return the new mailbox.
+         */
+        public static <I> Mailbox<I> create ()
+        {
+            return create(1024);
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param chunkSize is the number of messages that each chunk can store,
+         * which will be rounded up to the nearest power-of-two.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>chunkSize</code> is less than two or too large.
+         */
+        public static <I> Mailbox<I> create (final int chunkSize)
+        {
+            if (chunkSize < 2 || chunkSize > (1 << 30))
+            {
+                throw new IllegalArgumentException("chunkSize");
+            }
+
+            return new MpscChunkedMailbox<>(Integer.highestOneBit(chunkSize - 1) << 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free and never fails.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            final long position = (long) LONGS.getAndAdd(counters, TAIL, 1L);
+            final long index = position >>> shift;
+            final int offset = (int) position & mask;
+
+            /**
+             * The first chunk is created by the constructor, rather than appended.
+             */
+            final Chunk chunk = offset == 0 && index != 0 ? appendChunk(index) : findChunk(index);
+            OBJECTS.setRelease(chunk.slots, offset, message);
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The positions of the entire batch are claimed using a single atomic operation.
+         * </p>
+         */
+        @Override
+        public int offerAll (final Collection<? extends I> messages)
+        {
+            final Object[] array = messages.toArray();
+            MpscArrayMailbox.requireNonNullElements(array);
+
+            if (array.length == 0)
+            {
+                return 0;
+            }
+
+            final long first = (long) LONGS.getAndAdd(counters, TAIL, (long) array.length);
+
+            Chunk chunk = null;
+
+            for (int i = 0; i < array.length; i++)
+            {
+                final long position = first + i;
+                final long index = position >>> shift;
+                final int offset = (int) position & mask;
+
+                if (offset == 0 && index != 0)
+                {
+                    chunk = appendChunk(index);
+                }
+                else if (chunk == null)
+                {
+                    chunk = findChunk(index);
+                }
+
+                OBJECTS.setRelease(chunk.slots, offset, array[i]);
+            }
+
+            return array.length;
+        }
+
+        /**
+         * This method is invoked by the producer that claimed the first position
+         * in a chunk, since that producer is responsible for appending the chunk.
+         * Thus, exactly one producer appends each chunk, which ensures that
+         * the chunks are appended in order without any contention.
+         */
+        private Chunk appendChunk (final long index)
+        {
+            /**
+             * Wait for the producer that is appending the preceding chunk, if any.
+             * The preceding chunk cannot be consumed and reused during this time,
+             * because the consumer does not leave a chunk until its successor exists.
+             */
+            Chunk prev = producerChunk;
+
+            while (prev.index != index - 1)
+            {
+                Thread.onSpinWait();
+                prev = producerChunk;
+            }
+
+            Chunk chunk = (Chunk) SPARE.getAndSet(this, null);
+
+            if (chunk == null)
+            {
+                chunk = new Chunk(index, mask + 1);
+            }
+
+            chunk.next = null;
+            chunk.prev = prev;
+            chunk.index = index;
+
+            prev.next = chunk;
+            PRODUCER_CHUNK.setRelease(this, chunk);
+            return chunk;
+        }
+
+        /**
+         * This method is invoked by the producers that claimed
+         * any position in a chunk other than the first position.
+         */
+        private Chunk findChunk (final long index)
+        {
+            Chunk chunk = producerChunk;
+            long current = chunk.index;
+
+            /**
+             * Wait for the producer that is responsible for appending the chunk.
+             */
+            while (current < index)
+            {
+                Thread.onSpinWait();
+                chunk = producerChunk;
+                current = chunk.index;
+            }
+
+            /**
+             * If other producers have already appended further chunks, then walk backwards.
+             * None of the chunks in that range can be reused in the interim, since
+             * the consumer cannot get past the position that we claimed,
+             * until we actually write the message into the position.
+             */
+            while (current > index)
+            {
+                chunk = chunk.prev;
+                current = chunk.index;
+            }
+
+            return chunk;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method is lock-free.
+         * </p>
+         */
+        @Override
+        public I poll ()
+        {
+            final long position = consumerIndex;
+            final int offset = (int) position & mask;
+
+            Chunk chunk = consumerChunk;
+
+            if (offset == 0 && chunk.index != position >>> shift)
+            {
+                Chunk next = chunk.next;
+
+                if (next == null)
+                {
+                    if (isEmpty(position))
+                    {
+                        return null;
+                    }
+
+                    /**
+                     * A producer has claimed the first position in the next chunk,
+                     * but has not finished appending the chunk yet.
+                     */
+                    while ((next = chunk.next) == null)
+                    {
+                        Thread.onSpinWait();
+                    }
+                }
+
+                /**
+                 * Unlink the finished chunk, so that it can be garbage-collected,
+                 * unless it gets reused as the spare, in which case it is recycled.
+                 */
+                next.prev = null;
+                SPARE.compareAndSet(this, null, chunk);
+                consumerChunk = chunk = next;
+            }
+
+            I message = (I) OBJECTS.getAcquire(chunk.slots, offset);
+
+            if (message == null)
+            {
+                if (isEmpty(position))
+                {
+                    return null;
+                }
+
+                /**
+                 * A producer has claimed the position, but has not finished writing it yet.
+                 * We must wait, since the mailbox contract forbids returning null
+                 * while any message is in the mailbox.
+                 */
+                while ((message = (I) OBJECTS.getAcquire(chunk.slots, offset)) == null)
+                {
+                    Thread.onSpinWait();
+                }
+            }
+
+            OBJECTS.setOpaque(chunk.slots, offset, null);
+            consumerIndex = position + 1;
+            return message;
+        }
+
+        private boolean isEmpty (final long position)
+        {
+            return (long) LONGS.getVolatile(counters, TAIL) == position;
+        }
+    }
+
+    /**
+     * A lock-free bounded <code>Mailbox</code> implementation based on a ring-buffer,
+     * which supports only a single producer and a single consumer.
+     *
+     * <p>
+     * This mailbox is intended for point-to-point wiring, where exactly one
+     * upstream output feeds the input of the actor. Neither <code>offer()</code>
+     * nor <code>poll()</code> perform any compare-and-swap operations;
+     * rather, each side merely publishes its own index using
+     * release-ordered writes.
+     * </p>
+     *
+     * <p>
+     * <b>Warning:</b> Concurrent invocations of <code>offer()</code> will corrupt the mailbox.
+     * Consequently, an <code>Output</code> will refuse to connect to the input
+     * of an actor that uses this mailbox, if the input is already connected
+     * to another output. However, that does not prevent other threads from
+     * sending messages directly, such as via <code>Input.send()</code>
+     * or <code>Context.sendTo()</code>; ensuring that such messages are only
+     * sent by one thread at a time is the responsibility of the caller.
+     * When assertions are enabled (debug mode), concurrent invocations of
+     * <code>offer()</code> will be detected and will cause an <code>AssertionError</code>.
+     * </p>
+     *
+     * <p>
+     * The capacity is rounded up to the nearest power-of-two.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class SpscArrayMailbox<I>
+            implements Mailbox<I>
+    {
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private static final VarHandle OBJECTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+        private static final VarHandle PRODUCER;
+
+        static
+        {
+            try
+            {
+                PRODUCER = MethodHandles.lookup().findVarHandle(SpscArrayMailbox.class, "producer", Thread.class);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        /**
+         * See <code>MpscArrayMailbox</code> regarding the padding of the counters.
+         */
+        private static final int TAIL = 16;
+
+        private static final int HEAD = 32;
+
+        private static final int COUNTERS = 48;
+
+        private final long[] counters = new long[COUNTERS];
+
+        private final Object[] buffer;
+
+        private final int mask;
+
+        /**
+         * This is the thread that is currently inside of <code>offer()</code>,
+         * which is only tracked when assertions are enabled.
+         */
+        private volatile Thread producer;
+
+        private SpscArrayMailbox (final int capacity)
+        {
+            this.buffer = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param capacity is the maximum number of messages that can be stored simultaneously,
+         * which will be rounded up to the nearest power-of-two.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>capacity</code> is less than one or too large.
+         */
+        public static <I> Mailbox<I> create (final int capacity)
+        {
+            return new SpscArrayMailbox<>(MpscArrayMailbox.powerOfTwo(capacity));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Notice that this method must never be invoked concurrently.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            assert enterProducer() : "concurrent offer()";
+
+            try
+            {
+                final long tail = (long) LONGS.getOpaque(counters, TAIL);
+                final long head = (long) LONGS.getAcquire(counters, HEAD);
+
+                if (tail - head == buffer.length)
+                {
+                    return false;
+                }
+
+                OBJECTS.setOpaque(buffer, (int) tail & mask, message);
+                LONGS.setRelease(counters, TAIL, tail + 1);
+                return true;
+            }
+            finally
+            {
+                assert exitProducer();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The tail index is only published once for the entire batch.
+         * </p>
+         */
+        @Override
+        public int offerAll (final Collection<? extends I> messages)
+        {
+            Objects.requireNonNull(messages, "messages");
+
+            for (I message : messages)
+            {
+                Objects.requireNonNull(message, "message");
+            }
+
+            assert enterProducer() : "concurrent offer()";
+
+            try
+            {
+                final long tail = (long) LONGS.getOpaque(counters, TAIL);
+                final long head = (long) LONGS.getAcquire(counters, HEAD);
+                final long free = buffer.length - (tail - head);
+
+                int count = 0;
+
+                for (I message : messages)
+                {
+                    if (count == free)
+                    {
+                        break;
+                    }
+
+                    OBJECTS.setOpaque(buffer, (int) (tail + count) & mask, message);
+                    ++count;
+                }
+
+                LONGS.setRelease(counters, TAIL, tail + count);
+                return count;
+            }
+            finally
+            {
+                assert exitProducer();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public I poll ()
+        {
+            final long head = (long) LONGS.getOpaque(counters, HEAD);
+            final long tail = (long) LONGS.getAcquire(counters, TAIL);
+
+            if (head == tail)
+            {
+                return null;
+            }
+
+            final int index = (int) head & mask;
+            final I message = (I) OBJECTS.getOpaque(buffer, index);
+            OBJECTS.setOpaque(buffer, index, null);
+            LONGS.setRelease(counters, HEAD, head + 1);
+            return message;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The tail index is only read once for the entire batch.
+         * </p>
+         */
+        @Override
+        public int drain (final Consumer<? super I> consumer,
+                          final int max)
+        {
+            Objects.requireNonNull(consumer, "consumer");
+
+            final long head = (long) LONGS.getOpaque(counters, HEAD);
+            final long tail = (long) LONGS.getAcquire(counters, TAIL);
+            final int count = (int) Math.max(0, Math.min(max, tail - head));
+
+            /**
+             * The head index is published before each message is passed to the consumer,
+             * rather than once after the entire batch, since the consumer may take a while,
+             * during which the producer should be able to reuse the freed slots.
+             */
+            for (int removed = 0; removed < count; removed++)
+            {
+                final int index = (int) (head + removed) & mask;
+                final I message = (I) OBJECTS.getOpaque(buffer, index);
+                OBJECTS.setOpaque(buffer, index, null);
+                LONGS.setRelease(counters, HEAD, head + removed + 1);
+                consumer.accept(message);
+            }
+
+            return count;
+        }
+
+        private boolean enterProducer ()
+        {
+            return PRODUCER.compareAndSet(this, null, Thread.currentThread());
+        }
+
+        private boolean exitProducer ()
+        {
+            producer = null;
+            return true;
+        }
+    }
+
+    /**
+     * A <code>Mailbox</code> implementation that conflates messages by key,
+     * such that at most one message per key is pending at any time.
+     *
+     * <p>
+     * When a message is offered, while an older message with the same key
+     * is still pending, then the newer message replaces the older message
+     * in-place. Thus, the keys are polled in the order that they first arrived,
+     * but the message that is polled for each key is always the newest.
+     * The replaced messages are silently dropped and counted.
+     * Since a replacement is absorbed by the pending message,
+     * the actor is not scheduled again for the replacement.
+     * </p>
+     *
+     * <p>
+     * The pending messages are stored in a <code>ConcurrentHashMap</code>,
+     * while the order of the keys is maintained by a <code>ConcurrentLinkedQueue</code>.
+     * Consequently, neither <code>offer()</code> nor <code>poll()</code> ever blocks.
+     * Since the queue only contains keys, a conflated message does not
+     * allocate any queue nodes.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class ConflatingMailbox<I>
+            implements Mailbox<I>
+    {
+        private final Function<? super I, ?> keyFunction;
+
+        private final ConcurrentHashMap<Object, I> pending = new ConcurrentHashMap<>();
+
+        private final ConcurrentLinkedQueue<Object> order = new ConcurrentLinkedQueue<>();
+
+        private final LongAdder conflated = new LongAdder();
+
+        private ConflatingMailbox (final Function<? super I, ?> keyFunction)
+        {
+            this.keyFunction = keyFunction;
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param keyFunction will extract the (non-null) conflation key from each message.
+         * @return the new mailbox.
+         */
+        public static <I> ConflatingMailbox<I> create (final Function<? super I, ?> keyFunction)
+        {
+            Objects.requireNonNull(keyFunction, "keyFunction");
+            return new ConflatingMailbox<>(keyFunction);
+        }
+
+        /**
+         * Get the number of messages that were replaced by newer messages,
+         * before they could be polled.
+         *
+         * @return the number of conflated messages.
+         */
+        public long conflatedCount ()
+        {
+            return conflated.sum();
+        }
+
+        /**
+         * Get the number of keys that currently have a pending message.
+         *
+         * @return the number of pending messages.
+         */
+        public int size ()
+        {
+            return pending.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * This method always returns true, even if the message replaced an older message.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            offerPending(message);
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * A message that replaced an older message is absorbed, since the older message
+         * was already counted; therefore, a fast producer feeding a slow actor
+         * only causes one crank per key, rather than one crank per message.
+         * </p>
+         */
+        @Override
+        public int offerPending (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            final Object key = Objects.requireNonNull(keyFunction.apply(message), "key");
+
+            /**
+             * Only the message that creates the entry enqueues the key.
+             * Subsequent messages simply replace the value of the entry,
+             * which keeps the original position of the key in the queue.
+             */
+            if (pending.put(key, message) == null)
+            {
+                order.offer(key);
+                return 1;
+            }
+            else
+            {
+                conflated.increment();
+                return 0;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public I poll ()
+        {
+            Object key;
+
+            while ((key = order.poll()) != null)
+            {
+                /**
+                 * Removing the entry, rather than the value that was present when
+                 * the key was enqueued, ensures that the newest message is obtained.
+                 * If a producer adds the key again after the removal, then
+                 * that producer will also enqueue the key again.
+                 */
+                final I message = pending.remove(key);
+
+                if (message != null)
+                {
+                    return message;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A bounded <code>Mailbox</code> implementation that stores messages
+     * in a fixed number of priority lanes, each of which is a FIFO queue.
+     *
+     * <p>
+     * Unlike the <code>PriorityBlockingQueueMailbox</code>, which is a binary-heap
+     * protected by a single lock, both <code>offer()</code> and <code>poll()</code>
+     * are lock-free and take constant time, the capacity of each lane is bounded,
+     * and messages of equal priority are always polled in FIFO order.
+     * This mailbox is intended for a small number of discrete priority classes,
+     * such as control messages, normal messages, and bulk messages.
+     * </p>
+     *
+     * <p>
+     * The lanes are indexed from zero, which is the highest priority.
+     * A priority function assigns each message to a lane.
+     * Each lane is an <code>MpscArrayMailbox</code>; therefore, the capacity
+     * of each lane must be a power-of-two, so that the capacity is exact.
+     * If the lane of a message is full, then the message is rejected,
+     * even if other lanes have free space.
+     * </p>
+     *
+     * <p>
+     * By default, the lanes are polled in strict priority order.
+     * Optionally, each lane can be given a weight, which is the maximum
+     * number of consecutive messages that will be polled from that lane,
+     * while lower priority lanes have pending messages.
+     * Once every non-empty lane has exhausted its weight,
+     * the weights are replenished. Thus, a lower priority lane
+     * cannot be starved indefinitely by a higher priority lane.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class PriorityLaneMailbox<I>
+            implements Mailbox<I>
+    {
+        private final ToIntFunction<? super I> priority;
+
+        private final Mailbox<I>[] lanes;
+
+        private final int[] weights;
+
+        /**
+         * This is how many more messages may be polled from each lane,
+         * before the weights are replenished.
+         * This array is only accessed by the consumer.
+         */
+        private final int[] credits;
+
+        private PriorityLaneMailbox (final ToIntFunction<? super I> priority,
+                                     final int[] capacities,
+                                     final int[] weights)
+        {
+            @SuppressWarnings ("unchecked")
+            final Mailbox<I>[] array = (Mailbox<I>[]) new Mailbox<?>[capacities.length];
+
+            this.priority = priority;
+            this.lanes = array;
+            this.weights = weights.clone();
+            this.credits = weights.clone();
+
+            for (int i = 0; i < capacities.length; i++)
+            {
+                lanes[i] = MpscArrayMailbox.create(capacities[i]);
+            }
+        }
+
+        /**
+         * Create a new mailbox, which polls the lanes in strict priority order.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param priority maps each message to the index of its lane.
+         * @param capacities are the capacities of the lanes, in priority order.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if no lanes are specified, or any capacity
+         * is less than one, too large, or not a power-of-two.
+         */
+        public static <I> PriorityLaneMailbox<I> create (final ToIntFunction<? super I> priority,
+                                                         final int... capacities)
+        {
+            Objects.requireNonNull(capacities, "capacities");
+            final int[] weights = new int[capacities.length];
+            Arrays.fill(weights, Integer.MAX_VALUE);
+            return create(priority, capacities, weights);
+        }
+
+        /**
+         * Create a new mailbox, which polls the lanes in weighted priority order.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param priority maps each message to the index of its lane.
+         * @param capacities are the capacities of the lanes, in priority order.
+         * @param weights are the maximum numbers of consecutive messages per lane.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if no lanes are specified, any capacity is invalid
+         * or not a power-of-two, any weight is less than one, or the arrays differ in length.
+         */
+        public static <I> PriorityLaneMailbox<I> create (final ToIntFunction<? super I> priority,
+                                                         final int[] capacities,
+                                                         final int[] weights)
+        {
+            Objects.requireNonNull(priority, "priority");
+            Objects.requireNonNull(capacities, "capacities");
+            Objects.requireNonNull(weights, "weights");
+
+            if (capacities.length < 1)
+            {
+                throw new IllegalArgumentException("lanes < 1");
+            }
+            else if (weights.length != capacities.length)
+            {
+                throw new IllegalArgumentException("weights.length != capacities.length");
+            }
+            else if (Arrays.stream(weights).anyMatch(x -> x < 1))
+            {
+                throw new IllegalArgumentException("weight < 1");
+            }
+
+            /**
+             * The lanes would silently round the capacity up; therefore, reject such capacities.
+             */
+            for (int capacity : capacities)
+            {
+                if (MpscArrayMailbox.powerOfTwo(capacity) != capacity)
+                {
+                    throw new IllegalArgumentException("capacity is not a power-of-two");
+                }
+            }
+
+            return new PriorityLaneMailbox<>(priority, capacities, weights);
+        }
+
+        /**
+         * Get the number of priority lanes.
+         *
+         * @return the number of lanes.
+         */
+        public int laneCount ()
+        {
+            return lanes.length;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IndexOutOfBoundsException if the priority function returns an invalid lane.
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            final int lane = priority.applyAsInt(message);
+            return lanes[Objects.checkIndex(lane, lanes.length)].offer(message);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public I poll ()
+        {
+            /**
+             * Poll the highest priority lane that has not exhausted its weight.
+             */
+            boolean exhausted = false;
+
+            for (int i = 0; i < lanes.length; i++)
+            {
+                if (credits[i] > 0)
+                {
+                    final I message = lanes[i].poll();
+
+                    if (message != null)
+                    {
+                        --credits[i];
+                        return message;
+                    }
+                }
+                else
+                {
+                    exhausted = true;
+                }
+            }
+
+            /**
+             * Every lane was polled and found to be empty; therefore, there is no need
+             * to start a new round, which keeps empty polls cheap.
+             */
+            if (exhausted == false)
+            {
+                return null;
+            }
+
+            /**
+             * Every lane that has pending messages has exhausted its weight.
+             * Therefore, start a new round, which also ensures that
+             * a message is returned, if any lane is non-empty.
+             */
+            System.arraycopy(weights, 0, credits, 0, weights.length);
+
+            for (int i = 0; i < lanes.length; i++)
+            {
+                final I message = lanes[i].poll();
+
+                if (message != null)
+                {
+                    --credits[i];
+                    return message;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A <code>Mailbox</code> implementation with set semantics,
+     * which ignores any message that is equal to a message that is already pending.
+     *
+     * <p>
+     * This mailbox is intended for signals, such as cache-invalidations,
+     * which often arrive in bursts of identical messages,
+     * where processing the message once is sufficient.
+     * When a duplicate message is offered, the offer succeeds,
+     * but the message is not enqueued; rather, the duplicate is merely counted,
+     * and the actor is not scheduled again for the duplicate.
+     * Once a message is polled, an equal message can be enqueued again.
+     * </p>
+     *
+     * <p>
+     * The pending messages are stored in a <code>ConcurrentLinkedQueue</code>,
+     * which is indexed by a concurrent hash-set; therefore, neither
+     * <code>offer()</code> nor <code>poll()</code> ever blocks.
+     * The messages must implement <code>equals()</code> and <code>hashCode()</code>.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class DeduplicatingMailbox<I>
+            implements Mailbox<I>
+    {
+        private final Set<I> index = ConcurrentHashMap.newKeySet();
+
+        private final ConcurrentLinkedQueue<I> queue = new ConcurrentLinkedQueue<>();
+
+        private final LongAdder duplicates = new LongAdder();
+
+        private DeduplicatingMailbox ()
+        {
+            // Pass.
+        }
+
+        /**
+         * Create a new mailbox.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @return the new mailbox.
+         */
+        public static <I> DeduplicatingMailbox<I> create ()
+        {
+            return new DeduplicatingMailbox<>();
+        }
+
+        /**
+         * Get the number of messages that were ignored,
+         * because an equal message was already pending.
+         *
+         * @return the number of duplicate messages.
+         */
+        public long duplicateCount ()
+        {
+            return duplicates.sum();
+        }
+
+        /**
+         * Get the number of distinct messages that are currently pending.
+         *
+         * @return the number of pending messages.
+         */
+        public int size ()
+        {
+            return index.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * This method always returns true, even if the message was a duplicate.
+         * </p>
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            offerPending(message);
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * A duplicate is absorbed, since the equal message was already counted;
+         * therefore, a burst of identical signals only causes one crank.
+         * </p>
+         */
+        @Override
+        public int offerPending (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            /**
+             * Only the message that is added to the index is enqueued.
+             * Thus, equal messages are enqueued at most once at a time.
+             */
+            if (index.add(message))
+            {
+                queue.offer(message);
+                return 1;
+            }
+            else
+            {
+                duplicates.increment();
+                return 0;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * A message is removed from the index after it is removed from the queue.
+         * Consequently, an equal message that is offered in the meantime is
+         * treated as a duplicate, which is still correct, since the polled
+         * message has not yet been processed by the actor.
+         * </p>
+         */
+        @Override
+        public I poll ()
+        {
+            final I message = queue.poll();
+
+            if (message != null)
+            {
+                index.remove(message);
+            }
+
+            return message;
+        }
+    }
+
+    /**
+     * A <code>Mailbox</code> implementation that wraps another mailbox
+     * and discards messages whose deadlines have passed,
+     * so that an overloaded actor does not waste time processing
+     * messages that are no longer useful to anyone.
+     *
+     * <p>
+     * When a message is offered, the message is stored in the underlying mailbox
+     * along with its deadline, which is either a fixed time-to-live after the enqueue time,
+     * or a deadline that is obtained from the message itself.
+     * When a message is polled, any expired messages at the front of the underlying
+     * mailbox are skipped, which means that they never reach the script of the actor.
+     * Instead, the expired messages are counted and passed to an optional handler,
+     * which is invoked by the actor, but outside of the script.
+     * </p>
+     *
+     * <p>
+     * The underlying mailbox stores <code>Entry</code> objects, rather than the messages
+     * themselves; therefore, an underlying mailbox that inspects the messages,
+     * such as a priority mailbox, must do so via <code>Entry.message()</code>.
+     * One entry is allocated per message.
+     * </p>
+     *
+     * @param <I> is the type of messages that will be stored in the mailbox.
+     */
+    public static final class ExpiringMailbox<I>
+            implements Mailbox<I>
+    {
+        /**
+         * A message and its deadline.
+         *
+         * @param <I> is the type of the message.
+         */
+        public static final class Entry<I>
+        {
+            private final I message;
+
+            private final long deadline;
+
+            private final boolean expires;
+
+            private Entry (final I message,
+                           final long deadline,
+                           final boolean expires)
+            {
+                this.message = message;
+                this.deadline = deadline;
+                this.expires = expires;
+            }
+
+            /**
+             * Get the message itself.
+             *
+             * @return the message.
+             */
+            public I message ()
+            {
+                return message;
+            }
+
+            private boolean isExpired (final long now)
+            {
+                return expires && now - deadline >= 0;
+            }
+        }
+
+        private final Mailbox<Entry<I>> delegate;
+
+        private final long timeToLive;
+
+        private final Function<? super I, Instant> deadlineFunction;
+
+        private final Consumer<? super I> onExpired;
+
+        private final LongAdder expired = new LongAdder();
+
+        private ExpiringMailbox (final Mailbox<Entry<I>> delegate,
+                                 final long timeToLive,
+                                 final Function<? super I, Instant> deadlineFunction,
+                                 final Consumer<? super I> onExpired)
+        {
+            this.delegate = Objects.requireNonNull(delegate, "delegate");
+            this.timeToLive = timeToLive;
+            this.deadlineFunction = deadlineFunction;
+            this.onExpired = onExpired;
+        }
+
+        /**
+         * Create a new mailbox, which discards messages that were enqueued
+         * more than a given amount of time ago.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param delegate is the underlying mailbox.
+         * @param timeToLive is how long each message remains useful after being enqueued.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>timeToLive</code> is not positive.
+         */
+        public static <I> ExpiringMailbox<I> create (final Mailbox<Entry<I>> delegate,
+                                                     final Duration timeToLive)
+        {
+            return create(delegate, timeToLive, null);
+        }
+
+        /**
+         * Create a new mailbox, which discards messages that were enqueued
+         * more than a given amount of time ago.
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param delegate is the underlying mailbox.
+         * @param timeToLive is how long each message remains useful after being enqueued.
+         * @param onExpired will be given each expired message, or null, if not needed.
+         * @return the new mailbox.
+         * @throws IllegalArgumentException if <code>timeToLive</code> is not positive.
+         */
+        public static <I> ExpiringMailbox<I> create (final Mailbox<Entry<I>> delegate,
+                                                     final Duration timeToLive,
+                                                     final Consumer<? super I> onExpired)
+        {
+            Objects.requireNonNull(timeToLive, "timeToLive");
+
+            if (timeToLive.isNegative() || timeToLive.isZero())
+            {
+                throw new IllegalArgumentException("timeToLive <= 0");
+            }
+
+            return new ExpiringMailbox<>(delegate, saturatedNanos(timeToLive), null, onExpired);
+        }
+
+        /**
+         * Create a new mailbox, which discards messages whose own deadlines have passed.
+         *
+         * <p>
+         * The deadline-function is invoked when the message is offered.
+         * If the deadline-function returns null, then the message never expires.
+         * </p>
+         *
+         * @param <I> is the type of messages that will be stored in the mailbox.
+         * @param delegate is the underlying mailbox.
+         * @param deadlineFunction obtains the deadline of a message.
+         * @param onExpired will be given each expired message, or null, if not needed.
+         * @return the new mailbox.
+         */
+        public static <I> ExpiringMailbox<I> create (final Mailbox<Entry<I>> delegate,
+                                                     final Function<? super I, Instant> deadlineFunction,
+                                                     final Consumer<? super I> onExpired)
+        {
+            Objects.requireNonNull(deadlineFunction, "deadlineFunction");
+            return new ExpiringMailbox<>(delegate, 0, deadlineFunction, onExpired);
+        }
+
+        /**
+         * Get the number of messages that were discarded, because they expired.
+         *
+         * @return the number of expired messages.
+         */
+        public long expiredCount ()
+        {
+            return expired.sum();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean offer (final I message)
+        {
+            return delegate.offer(stamp(message));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Any expired messages that precede the returned message are discarded.
+         * </p>
+         */
+        @Override
+        public I poll ()
+        {
+            Entry<I> entry;
+
+            while ((entry = delegate.poll()) != null)
+            {
+                if (entry.isExpired(System.nanoTime()))
+                {
+                    expire(entry.message);
+                }
+                else
+                {
+                    return entry.message;
+                }
+            }
+
+            return null;
+        }
+
+        private Entry<I> stamp (final I message)
+        {
+            Objects.requireNonNull(message, "message");
+
+            final long now = System.nanoTime();
+
+            if (deadlineFunction == null)
+            {
+                return new Entry<>(message, now + timeToLive, true);
+            }
+
+            final Instant deadline = deadlineFunction.apply(message);
+
+            if (deadline == null)
+            {
+                return new Entry<>(message, 0, false);
+            }
+
+            /**
+             * Convert the wall-clock deadline to the monotonic clock once,
+             * so that polling only needs to read the monotonic clock.
+             */
+            final Duration remaining = Duration.between(Instant.now(), deadline);
+            return new Entry<>(message, remaining.isNegative() ? now : now + saturatedNanos(remaining), true);
+        }
+
+        private void expire (final I message)
+        {
+            expired.increment();
+
+            if (onExpired != null)
+            {
+                try
+                {
+                    onExpired.accept(message);
+                }
+                catch (Throwable ignored)
+                {
+                    // Pass, because the message has already been discarded.
+                }
+            }
+        }
+    }
+
+    /**
+     * Partial Implementation of <code>Stage</code>.
+     */
+    public static abstract class AbstractStage
+            implements Cascade.Stage
+    {
+        /**
+         * This bit of <code>DefaultActor.state</code> is set while the actor is running.
+         */
+        private static final long RUNNING = 1;
+
+        /**
+         * This bit of <code>DefaultActor.state</code> is set, when the actor needs to run,
+         * even though no messages are pending, such as to flush a lingering batch.
+         */
+        private static final long WAKEUP = 2;
+
+        /**
+         * This is the amount that <code>DefaultActor.state</code> changes per pending message.
+         */
+        private static final long PENDING = 4;
+
+        /**
+         * This handle provides atomic access to <code>DefaultActor.state</code>.
+         */
+        private static final VarHandle ACTOR_STATE;
+
+        /**
+         * This handle provides atomic access to <code>DefaultActor.rejections</code>.
+         */
+        private static final VarHandle ACTOR_REJECTIONS;
+
+        /**
+         * This handle provides atomic access to <code>DefaultActor.delayed</code>.
+         */
+        private static final VarHandle ACTOR_DELAYED;
+
+        /**
+         * This handle provides atomic access to <code>DefaultActor.counted</code>.
+         */
+        private static final VarHandle ACTOR_COUNTED;
+
+        static
+        {
+            try
+            {
+                ACTOR_STATE = MethodHandles.lookup().findVarHandle(DefaultActor.class, "state", long.class);
+                ACTOR_REJECTIONS = MethodHandles.lookup().findVarHandle(DefaultActor.class, "rejections", int.class);
+                ACTOR_DELAYED = MethodHandles.lookup().findVarHandle(DefaultActor.class, "delayed", long.class);
+                ACTOR_COUNTED = MethodHandles.lookup().findVarHandle(DefaultActor.class, "counted", boolean.class);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        private final Stage STAGE = this;
+
+        private final AtomicBoolean stageClosed = new AtomicBoolean(false);
+
+        /**
+         * This flag becomes false, when this stage stops admitting messages from outside of itself.
+         */
+        private volatile boolean admitting = true;
+
+        /**
+         * This flag becomes true, when this stage begins to shutdown gracefully.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        /**
+         * While draining, this is the number of actors that still have work to do,
+         * plus one, while <code>shutdown()</code> is still counting the actors.
+         * This stage closes, when the count reaches zero.
+         */
+        private final AtomicInteger busyActors = new AtomicInteger();
+
+        /**
+         * These are the periodic sends to the actors on this stage,
+         * which are cancelled, when this stage stops admitting messages.
+         */
+        private final Set<TimingWheel.Timeout> periodicSends = ConcurrentHashMap.newKeySet();
+
+        /**
+         * This timer closes this stage, if draining takes too long.
+         */
+        private volatile TimingWheel.Timeout drainDeadline = null;
+
+        /**
+         * These are the actors on this stage, which are only weakly held,
+         * so that unreachable actors can still be garbage-collected.
+         */
+        private final Map<DefaultActor<?, ?>, Boolean> actors = Collections.synchronizedMap(new WeakHashMap<>());
+
+        private volatile Supplier<? extends Mailbox<?>> defaultMailbox = ConcurrentLinkedQueueMailbox::create;
+
+        private volatile int inlineDispatchDepth = 0;
+
+        private volatile boolean fusion = false;
+
+        /**
+         * This flag is true, if the actors need to record the stage in the <code>InlineFrame</code>,
+         * while running, which is only necessary, if inline-dispatch or fusion is enabled,
+         * or if this stage is shutting down; otherwise, the thread-local is not touched.
+         */
+        private volatile boolean framing = false;
+
+        private volatile OverloadPolicy overloadPolicy = OverloadPolicy.closeStage();
+
+        /**
+         * These are the actors that could not be scheduled due to overload,
+         * which are waiting for capacity to become available.
+         */
+        private final Queue<DefaultActor<?, ?>> overflowed = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean overflowTimerArmed = new AtomicBoolean(false);
+
+        private final LongAdder rejectionCount = new LongAdder();
+
+        private final LongAdder retryCount = new LongAdder();
+
+        private final LongAdder callerRunsCount = new LongAdder();
+
+        private final LongAdder overflowCount = new LongAdder();
+
+        /**
+         * This is the maximum number of nested rejected actors that a thread will run itself.
+         */
+        private static final int MAX_CALLER_RUNS_DEPTH = 16;
+
+        /**
+         * This is the maximum number of nested immediate retries that a thread will attempt.
+         */
+        private static final int MAX_RETRY_DEPTH = 16;
+
+        /**
+         * This is the maximum number of actors that can be fused into a single chain.
+         */
+        private static final int MAX_FUSION_DEPTH = 64;
+
+        /**
+         * This records the stage, if any, whose actor the current thread is executing,
+         * and the current depth of nested inline dispatches on the current thread.
+         */
+        private static final class InlineFrame
+        {
+            private static final ThreadLocal<InlineFrame> CURRENT = ThreadLocal.withInitial(InlineFrame::new);
+
+            private AbstractStage stage = null;
+
+            private int depth = 0;
+
+            /**
+             * This is the number of nested rejected actors being run by the current thread.
+             */
+            private int callerRunsDepth = 0;
+
+            /**
+             * This is the number of nested immediate retries being attempted by the current thread,
+             * since each retry that is rejected invokes the overload-policy again, recursively.
+             */
+            private int retryDepth = 0;
+
+            /**
+             * This flag is true, if the current thread powers a timer,
+             * which must never run the scripts of actors itself,
+             * since that would delay all of the other timeouts.
+             */
+            private boolean timer = false;
+
+            private static void runAsTimer (final Runnable task)
+            {
+                CURRENT.get().timer = true;
+                task.run();
+            }
+        }
+
+        /**
+         * This method will be invoked whenever an actor needs executed.
+         *
+         * <p>
+         * This method will not be re-invoked, until the actor finishes
+         * being executed, even if the actor determines that it needs
+         * to be executed again. Rather, the actor will invoke this
+         * method again, if needed, at the end of its execution.
+         * This strategy helps ensure that no two threads will
+         * ever power the actor concurrently. Moreover,
+         * this strategy lessons the amount of memory used
+         * by some implementations in order to schedule actors.
+         * </p>
+         *
+         * <p>
+         * Implementations of this method should only throw exceptions,
+         * if they are unable to schedule the actor, such as when overloaded.
+         * If an exception or error is thrown, then the overload-policy
+         * of the stage decides what happens, which closes the stage, by default.
+         * </p>
+         *
+         * @param actor needs to be <code>run()</code> at some point in the future.
+         */
+        protected abstract void onRunnable (DefaultActor<?, ?> actor);
+
+        /**
+         * This method will be invoked when this stage closes.
+         */
+        protected abstract void onClose ();
+
+        /**
+         * This method will be invoked whenever an actor is created on this stage.
+         *
+         * <p>
+         * By default, this method does nothing.
+         * </p>
+         *
+         * @param actor was just created.
+         */
+        protected void onCreate (final DefaultActor<?, ?> actor)
+        {
+            // Pass.
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final <I, O> Actor.Builder<I, O> newActor ()
+        {
+            return new DefaultActorBuilder<>();
+        }
+
+        /**
+         * Create a builder that will build actors whose <code>meta</code> objects
+         * are initially the given object, rather than null.
+         *
+         * <p>
+         * Sub-classes can use this method in order to implement variants of
+         * <code>newActor()</code>, which accept stage-specific information,
+         * such as where the actors shall run.
+         * </p>
+         *
+         * @param <I> is the type of messages that the actor will consume.
+         * @param <O> is the type of messages that the actor will produce.
+         * @param meta will be the initial <code>meta</code> object of each actor.
+         * @return the new builder.
+         */
+        protected final <I, O> Actor.Builder<I, O> newActorWithMeta (final Object meta)
+        {
+            final DefaultActorBuilder<I, O> builder = new DefaultActorBuilder<>();
+            builder.meta = meta;
+            return builder;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Stage defaultMailbox (final Supplier<? extends Mailbox<?>> factory)
+        {
+            Objects.requireNonNull(factory, "factory");
+            defaultMailbox = factory;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Stage inlineDispatch (final int maxDepth)
+        {
+            if (maxDepth < 0)
+            {
+                throw new IllegalArgumentException("maxDepth < 0");
+            }
+
+            inlineDispatchDepth = maxDepth;
+            updateFraming();
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Stage fusion (final boolean enabled)
+        {
+            fusion = enabled;
+            updateFraming();
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Stage overloadPolicy (final OverloadPolicy policy)
+        {
+            Objects.requireNonNull(policy, "policy");
+            overloadPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Get the number of times that this stage was unable to schedule an actor.
+         *
+         * @return the number of rejections, thus far.
+         */
+        public final long rejectionCount ()
+        {
+            return rejectionCount.sum();
+        }
+
+        /**
+         * Get the number of times that the overload-policy retried scheduling an actor.
+         *
+         * @return the number of retries, thus far.
+         */
+        public final long retryCount ()
+        {
+            return retryCount.sum();
+        }
+
+        /**
+         * Get the number of times that the overload-policy ran a rejected actor on the calling thread.
+         *
+         * @return the number of caller-runs, thus far.
+         */
+        public final long callerRunsCount ()
+        {
+            return callerRunsCount.sum();
+        }
+
+        /**
+         * Get the number of times that the overload-policy added an actor to the overflow list.
+         *
+         * @return the number of overflows, thus far.
+         */
+        public final long overflowCount ()
+        {
+            return overflowCount.sum();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void close ()
+        {
+            if (stageClosed.compareAndSet(false, true))
+            {
+                admitting = false;
+                cancelPeriodicSends();
+
+                final TimingWheel.Timeout deadline = drainDeadline;
+
+                if (deadline != null)
+                {
+                    deadline.cancel();
+                }
+
+                onClose();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Stage shutdown (final Duration deadline)
+        {
+            Objects.requireNonNull(deadline, "deadline");
+
+            if (stageClosed.get() || draining.compareAndSet(false, true) == false)
+            {
+                return this;
+            }
+
+            /**
+             * Hold the count above zero, until every actor has been counted,
+             * so that the stage cannot close prematurely, while counting.
+             */
+            busyActors.incrementAndGet();
+
+            /**
+             * The actors must record the stage, while running, before admission stops,
+             * so that the messages that they send to each other are still admitted.
+             */
+            updateFraming();
+            admitting = false;
+            cancelPeriodicSends();
+            drainDeadline = TimingWheel.shared().schedule(this::close, deadline);
+
+            final List<DefaultActor<?, ?>> snapshot;
+
+            synchronized (actors)
+            {
+                snapshot = new ArrayList<>(actors.keySet());
+            }
+
+            for (DefaultActor<?, ?> actor : snapshot)
+            {
+                recount(actor);
+
+                /**
+                 * Flush any lingering batches now, rather than waiting for the timers.
+                 */
+                if (actor.batchCount > 0)
+                {
+                    actor.requestWakeup();
+                }
+            }
+
+            if (busyActors.decrementAndGet() == 0)
+            {
+                close();
+            }
+
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final boolean awaitTermination (final Duration timeout)
+                throws InterruptedException
+        {
+            Objects.requireNonNull(timeout, "timeout");
+
+            final long nanos = saturatedNanos(timeout);
+            final long start = System.nanoTime();
+
+            /**
+             * Termination is rare; therefore, simple polling suffices.
+             * Once this stage is closed, the actors never start executing their scripts again;
+             * therefore, only the actors that were running at that moment need to be watched.
+             */
+            List<DefaultActor<?, ?>> running = null;
+
+            while (true)
+            {
+                if (running == null && stageClosed.get())
+                {
+                    synchronized (actors)
+                    {
+                        running = new ArrayList<>(actors.keySet());
+                    }
+                }
+
+                if (running != null)
+                {
+                    running.removeIf(actor -> (actor.state & RUNNING) == 0);
+
+                    if (running.isEmpty())
+                    {
+                        return true;
+                    }
+                }
+
+                if (System.nanoTime() - start >= nanos)
+                {
+                    return false;
+                }
+                else if (Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Map<Actor<?, ?>, Long> unprocessed ()
+        {
+            final Map<Actor<?, ?>, Long> result = new HashMap<>();
+
+            synchronized (actors)
+            {
+                for (DefaultActor<?, ?> actor : actors.keySet())
+                {
+                    final long count = actor.unprocessed();
+
+                    if (count > 0)
+                    {
+                        result.put(actor, count);
+                    }
+                }
+            }
+
+            return Collections.unmodifiableMap(result);
+        }
+
+        /**
+         * While draining, update the count of the busy actors, after the given actor
+         * may have either become busy or become quiet, and close this stage,
+         * once none of the actors are busy anymore.
+         *
+         * <p>
+         * Whichever thread changes whether the actor is busy invokes this method afterwards;
+         * therefore, racing invocations may count the actor based on a stale observation,
+         * but each invocation corrects the count, until the count agrees with the actor.
+         * </p>
+         *
+         * @param actor may have either become busy or become quiet.
+         */
+        private void recount (final DefaultActor<?, ?> actor)
+        {
+            while (true)
+            {
+                final boolean busy = actor.isBusy();
+                final boolean counted = actor.counted;
+
+                if (busy == counted)
+                {
+                    return;
+                }
+                else if (ACTOR_COUNTED.compareAndSet(actor, counted, busy) == false)
+                {
+                    continue;
+                }
+                else if (busy)
+                {
+                    busyActors.incrementAndGet();
+                }
+                else if (busyActors.decrementAndGet() == 0)
+                {
+                    close();
+                }
+            }
+        }
+
+        private void cancelPeriodicSends ()
+        {
+            for (TimingWheel.Timeout send : periodicSends)
+            {
+                send.cancel();
+            }
+        }
+
+        private synchronized void updateFraming ()
+        {
+            framing = inlineDispatchDepth > 0 || fusion || draining.get();
+        }
+
+        @SuppressWarnings ("unchecked")
+        private <I> Mailbox<I> newDefaultMailbox ()
+        {
+            return (Mailbox<I>) Objects.requireNonNull(defaultMailbox.get(), "mailbox");
+        }
+
+        /**
+         * Determine whether messages may be offered to the actors on this stage.
+         *
+         * <p>
+         * While shutting down, only the actors on this stage may send messages,
+         * so that messages already in the pipeline are not lost mid-way.
+         * If the sender is known, then the sender must be running on this stage;
+         * otherwise, the thread-local frame must show that the current thread
+         * is running an actor on this stage, which is only consulted while shutting down.
+         * </p>
+         *
+         * @param sender is the actor sending the message, if known, or null.
+         */
+        private boolean admits (final DefaultActor<?, ?> sender)
+        {
+            if (admitting)
+            {
+                return true;
+            }
+            else if (stageClosed.get())
+            {
+                return false;
+            }
+            else if (sender != null && sender.stage() == STAGE && (sender.state & RUNNING) != 0)
+            {
+                return true;
+            }
+            else
+            {
+                return InlineFrame.CURRENT.get().stage == this;
+            }
+        }
+
+        /**
+         * Send a message from an actor to an input, so that the actors on this stage
+         * can identify the sender, while shutting down, without consulting the thread-local frame,
+         * which the sender may not have recorded, if the sender began running beforehand.
+         */
+        @SuppressWarnings ("unchecked")
+        private static <T> boolean offerFromActor (final Actor.Input<T> input,
+                                                   final T message,
+                                                   final DefaultActor<?, ?> sender)
+        {
+            if (input instanceof AbstractStage.DefaultActor<?, ?>.DefaultInput)
+            {
+                return ((AbstractStage.DefaultActor<T, ?>.DefaultInput) input).offerFrom(message, sender);
+            }
+            else
+            {
+                return input.offer(message);
+            }
+        }
+
+        /**
+         * This method protects against exceptions thrown in the overridden <code>onRunnable()</code> method.
+         * If an exception is thrown in that method, then the overload-policy must ensure
+         * that the actor is eventually scheduled, or else the stage must be shutdown,
+         * since we would be unable to ensure that all pending tasks get executed.
+         *
+         * @param actor needs scheduled for execution.
+         */
+        private void safelySchedule (final DefaultActor<?, ?> actor)
+        {
+            try
+            {
+                onRunnable(actor);
+
+                if (actor.rejections != 0)
+                {
+                    actor.rejections = 0;
+                }
+            }
+            catch (Throwable ex)
+            {
+                /**
+                 * The pending messages of the actor are not discarded;
+                 * rather, they remain pending, so that they are reported by unprocessed().
+                 * Moreover, once this stage is closing, the actor need not be scheduled.
+                 */
+                if (stageClosed.get() == false)
+                {
+                    rejectionCount.increment();
+                    handleRejection(new DefaultRejection(actor, ex, (int) ACTOR_REJECTIONS.getAndAdd(actor, 1) + 1));
+                }
+            }
+        }
+
+        private void handleRejection (final DefaultRejection rejection)
+        {
+            try
+            {
+                overloadPolicy.onRejected(rejection);
+            }
+            catch (Throwable ex)
+            {
+                /**
+                 * The policy itself failed; therefore, the actor may never be scheduled.
+                 */
+                close();
+            }
+        }
+
+        /**
+         * Resubmit the actors on the overflow list, until one of them is rejected again.
+         */
+        private void resubmitOverflow ()
+        {
+            DefaultActor<?, ?> actor;
+
+            while (stageClosed.get() == false && (actor = overflowed.poll()) != null)
+            {
+                try
+                {
+                    onRunnable(actor);
+                    actor.rejections = 0;
+                }
+                catch (Throwable ex)
+                {
+                    /**
+                     * The actor loses its position in the list; however,
+                     * this is rare and the actor is merely delayed.
+                     */
+                    rejectionCount.increment();
+                    overflowed.add(actor);
+                    armOverflowTimer();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Periodically resubmit the overflowed actors, in case no other actors are running.
+         */
+        private void armOverflowTimer ()
+        {
+            if (overflowTimerArmed.compareAndSet(false, true))
+            {
+                TimingWheel.shared().schedule(() ->
+                {
+                    overflowTimerArmed.set(false);
+                    resubmitOverflow();
+                }, Duration.ofMillis(1));
+            }
+        }
+
+        /**
+         * Default Implementation of the <code>OverloadPolicy.Rejection</code> interface.
+         */
+        private final class DefaultRejection
+                implements OverloadPolicy.Rejection
+        {
+            private final DefaultActor<?, ?> actor;
+
+            private final Throwable cause;
+
+            private final int attempt;
+
+            private final AtomicBoolean resolved = new AtomicBoolean(false);
+
+            private DefaultRejection (final DefaultActor<?, ?> actor,
+                                      final Throwable cause,
+                                      final int attempt)
+            {
+                this.actor = actor;
+                this.cause = cause;
+                this.attempt = attempt;
+            }
+
+            @Override
+            public Actor<?, ?> actor ()
+            {
+                return actor;
+            }
+
+            @Override
+            public Throwable cause ()
+            {
+                return cause;
+            }
+
+            @Override
+            public int attempt ()
+            {
+                return attempt;
+            }
+
+            @Override
+            public void retry ()
+            {
+                final InlineFrame frame = InlineFrame.CURRENT.get();
+
+                if (frame.retryDepth >= MAX_RETRY_DEPTH)
+                {
+                    overflow();
+                    return;
+                }
+
+                resolve();
+                retryCount.increment();
+                ++frame.retryDepth;
+
+                try
+                {
+                    safelySchedule(actor);
+                }
+                finally
+                {
+                    --frame.retryDepth;
+                }
+            }
+
+            @Override
+            public void retryAfter (final Duration delay)
+            {
+                Objects.requireNonNull(delay, "delay");
+                resolve();
+                retryCount.increment();
+                TimingWheel.shared().schedule(() -> safelySchedule(actor), delay);
+            }
+
+            @Override
+            public void runOnCaller ()
+            {
+                final InlineFrame frame = InlineFrame.CURRENT.get();
+
+                if (frame.timer || frame.callerRunsDepth >= MAX_CALLER_RUNS_DEPTH)
+                {
+                    overflow();
+                    return;
+                }
+
+                resolve();
+                callerRunsCount.increment();
+                ++frame.callerRunsDepth;
+
+                try
+                {
+                    actor.run();
+                }
+                finally
+                {
+                    --frame.callerRunsDepth;
+                }
+            }
+
+            @Override
+            public void overflow ()
+            {
+                resolve();
+                overflowCount.increment();
+                overflowed.add(actor);
+                armOverflowTimer();
+            }
+
+            @Override
+            public void closeStage ()
+            {
+                resolve();
+                close();
+            }
+
+            private void resolve ()
+            {
+                if (resolved.compareAndSet(false, true) == false)
+                {
+                    throw new IllegalStateException("already resolved");
+                }
+            }
+        }
+
+        /**
+         * Default Implementation of the <code>Actor.Builder</code> interface.
+         *
+         * @param <I> is the type of messages that the actor will consume.
+         * @param <O> is the type of messages that the actor will produce.
+         */
+        private final class DefaultActorBuilder<I, O>
+                implements Cascade.Stage.Actor.Builder<I, O>
+        {
+            /**
+             * From the perspective of the user, builders are immutable;
+             * however, internally, each with-method modifies a private copy
+             * of this builder, which it then returns as the result.
+             */
+            private Mailbox<I> mailbox;
+
+            private ContextScript<I, O> script;
+
+            private BatchScript<I, O> batchScript;
+
+            private int maxBatchSize;
+
+            private long maxLingerNanos;
+
+            private ContextErrorHandler<I, O> errorHandler;
+
+            private int batchSize;
+
+            private Object meta;
+
+            private long idleTimeoutNanos;
+
+            private IdleScript<I, O> idleScript;
+
+            private DefaultActorBuilder ()
+            {
+                /**
+                 * The default mailbox is only created in create(),
+                 * since withMailbox() will often replace it.
+                 */
+                this.mailbox = null;
+
+                this.script = (context, message) ->
+                {
+                    // Pass.
+                };
+
+                this.batchScript = null;
+                this.maxBatchSize = 0;
+                this.maxLingerNanos = 0;
+
+                this.errorHandler = (context, message, cause) ->
+                {
+                    // Pass.
+                };
+
+                this.batchSize = 1;
+                this.meta = null;
+                this.idleTimeoutNanos = 0;
+                this.idleScript = null;
+            }
+
+            private DefaultActorBuilder (final DefaultActorBuilder<I, O> prototype)
+            {
+                this.mailbox = prototype.mailbox;
+                this.script = prototype.script;
+                this.batchScript = prototype.batchScript;
+                this.maxBatchSize = prototype.maxBatchSize;
+                this.maxLingerNanos = prototype.maxLingerNanos;
+                this.errorHandler = prototype.errorHandler;
+                this.batchSize = prototype.batchSize;
+                this.meta = prototype.meta;
+                this.idleTimeoutNanos = prototype.idleTimeoutNanos;
+                this.idleScript = prototype.idleScript;
+            }
+
+            @Override
+            public <X, Y> Actor.Builder<X, Y> withContextScript (final Stage.Actor.ContextScript<X, Y> script)
+            {
+                Objects.requireNonNull(script, "script");
+                final DefaultActorBuilder copy = new DefaultActorBuilder(this);
+                copy.script = script;
+                copy.batchScript = null;
+                return copy;
+            }
+
+            @Override
+            public <X, Y> Actor.Builder<X, Y> withBatchScript (final BatchScript<X, Y> script,
+                                                               final int maxBatchSize,
+                                                               final Duration maxLinger)
+            {
+                Objects.requireNonNull(script, "script");
+                Objects.requireNonNull(maxLinger, "maxLinger");
+
+                if (maxBatchSize < 1)
+                {
+                    throw new IllegalArgumentException("maxBatchSize < 1");
+                }
+                else if (maxLinger.isNegative())
+                {
+                    throw new IllegalArgumentException("maxLinger < 0");
+                }
+
+                final DefaultActorBuilder copy = new DefaultActorBuilder(this);
+                copy.batchScript = script;
+                copy.maxBatchSize = maxBatchSize;
+                copy.maxLingerNanos = saturatedNanos(maxLinger);
+                copy.batchSize = maxBatchSize;
+                return copy;
+            }
+
+            @Override
+            public Actor.Builder<I, O> withContextErrorHandler (final ContextErrorHandler<I, O> handler)
+            {
+                Objects.requireNonNull(handler, "handler");
+
+                /**
+                 * Combine the given handler and any previously defined handlers.
+                 * Execute each of the handlers in sequence, even if one fails.
+                 * If any handler throws an exception, simply ignore it.
+                 * In general, an error-handler should not cause an error itself.
+                 */
+                final DefaultActorBuilder<I, O> copy = new DefaultActorBuilder<>(this);
+                copy.errorHandler = errorHandler.andThen(handler);
+                return copy;
+            }
+
+            @Override
+            public Actor.Builder<I, O> withMailbox (final Mailbox<I> mailbox)
+            {
+                Objects.requireNonNull(mailbox, "mailbox");
+                final DefaultActorBuilder<I, O> copy = new DefaultActorBuilder<>(this);
+                copy.mailbox = mailbox;
+                return copy;
+            }
+
+            @Override
+            public Actor.Builder<I, O> withBatchSize (final int size)
+            {
+                if (size < 1)
+                {
+                    throw new IllegalArgumentException("size < 1");
+                }
+
+                final DefaultActorBuilder<I, O> copy = new DefaultActorBuilder<>(this);
+                copy.batchSize = size;
+                return copy;
+            }
+
+            @Override
+            public Actor.Builder<I, O> withIdleTimeout (final Duration timeout,
+                                                        final IdleScript<I, O> script)
+            {
+                Objects.requireNonNull(timeout, "timeout");
+                Objects.requireNonNull(script, "script");
+
+                if (timeout.isNegative() || timeout.isZero())
+                {
+                    throw new IllegalArgumentException("timeout <= 0");
+                }
+
+                final DefaultActorBuilder<I, O> copy = new DefaultActorBuilder<>(this);
+                copy.idleTimeoutNanos = saturatedNanos(timeout);
+                copy.idleScript = script;
+                return copy;
+            }
+
+            @Override
+            public Actor<I, O> create ()
+            {
+                final DefaultActor<I, O> actor = new DefaultActor<>(this);
+                actors.put(actor, Boolean.TRUE);
+                onCreate(actor);
+
+                if (actor.idleScript != null)
+                {
+                    actor.armIdleTimer(actor.idleTimeoutNanos);
+                }
+
+                return actor;
+            }
+        }
+
+        /**
+         * Default Actor Implementation.
+         *
+         * <p>
+         * A (meta) object is stored herein, which is intended
+         * for use by implementing sub-classes, so that they
+         * can store actor specific information.
+         * </p>
+         *
+         * @param <I> is the type of the messages incoming to the actor.
+         * @param <O> is the type of the messages outgoing from the actor.
+         */
+        public final class DefaultActor<I, O>
+                implements Cascade.Stage.Actor<I, O>,
+                           Runnable
+        {
+            /**
+             * This reference just makes 'this' more explicit in
+             * order to avoid confusion caused by nested classes.
+             */
+            private final DefaultActor<I, O> ACTOR = this;
+
+            /**
+             * This mailbox stores the backlog of messages that
+             * need to be processed by this actor one at a time.
+             */
+            private final Mailbox<I> mailbox;
+
+            /**
+             * This script will be used to process those messages.
+             */
+            private final ContextScript<I, O> script;
+
+            /**
+             * If that script throws an unhandled exception,
+             * then this error-handler will be invoked in
+             * order to handle the exception.
+             */
+            private final ContextErrorHandler<I, O> errorHandler;
+
+            /**
+             * This is the maximum number of messages that will
+             * be processed during a single invocation of run().
+             */
+            private final int batchSize;
+
+            /**
+             * If this script is non-null, then it will be used to process
+             * the messages in batches, instead of the normal script.
+             */
+            private final BatchScript<I, O> batchScript;
+
+            /**
+             * This is the maximum number of messages passed to the batch-script at once.
+             */
+            private final int maxBatchSize;
+
+            /**
+             * This is the maximum amount of time that a message will wait in the batch.
+             */
+            private final long maxLingerNanos;
+
+            /**
+             * This list is reused in order to accumulate the messages of each batch.
+             */
+            private final List<I> batch;
+
+            /**
+             * This is a read-only view of the batch, which is passed to the batch-script.
+             */
+            private final List<I> batchView;
+
+            /**
+             * This object adds each message drained from the mailbox to the batch.
+             */
+            private final Consumer<I> collector = this::collect;
+
+            /**
+             * This is when the oldest message in the batch was added to the batch.
+             */
+            private long batchStart = 0;
+
+            /**
+             * This flag is true, when a wake-up is scheduled to flush the batch.
+             */
+            private volatile boolean wakeupPending = false;
+
+            /**
+             * This is the number of messages in the batch, which is published
+             * after each run, so that other threads need not touch the batch.
+             */
+            private volatile int batchCount = 0;
+
+            /**
+             * This is the number of messages that were sent to this actor after a delay,
+             * which are still waiting for the delay to expire.
+             *
+             * <p>
+             * This field is only accessed via the <code>ACTOR_DELAYED</code> handle.
+             * </p>
+             */
+            private volatile long delayed = 0;
+
+            /**
+             * This flag is true, if this actor is included in the count of busy actors,
+             * while the stage is draining.
+             *
+             * <p>
+             * This field is only accessed via the <code>ACTOR_COUNTED</code> handle.
+             * </p>
+             */
+            private volatile boolean counted = false;
+
+            /**
+             * This object provides the ability to send messages to
+             * and from this actor and will be passed-in to the script.
+             */
+            private final DefaultContext context = new DefaultContext();
+
+            /**
+             * This object passes each message drained from the mailbox to the script.
+             */
+            private final Consumer<I> processor = this::process;
+
+            /**
+             * This object provides the input-connector API and wraps the mailbox.
+             */
+            private final DefaultInput input = new DefaultInput();
+
+            /**
+             * This object provides the output-connector API.
+             */
+            private final DefaultOutput output = new DefaultOutput();
+
+            /**
+             * This word encodes the entire scheduling state of this actor,
+             * so that each transition requires only a single atomic operation.
+             *
+             * <p>
+             * The lowest bit is set, whenever run() is executing.
+             * The next bit is set, whenever a timer needs the actor to run,
+             * even though no messages are pending (i.e. a wake-up).
+             * The remaining bits are the number of messages in the mailbox,
+             * which are awaiting processing (i.e. the pending cranks).
+             * Thus, the actor is (1) idle, when the word is zero,
+             * (2) scheduled, when only the wake-up bit or count is non-zero,
+             * (3) running, when only the lowest bit is set, or
+             * (4) running with more work, when the lowest bit and anything else are set.
+             * </p>
+             *
+             * <p>
+             * This field is only accessed via the <code>ACTOR_STATE</code> handle.
+             * </p>
+             */
+            private volatile long state = 0;
+
+            /**
+             * This field can be used by custom stage implementations
+             * to store implementation-specific information.
+             */
+            private volatile Object meta = null;
+
+            /**
+             * This field can be used by stage implementations in order to
+             * link actors together into intrusive linked-lists,
+             * such as the run-queues of an <code>EventLoopStage</code>.
+             */
+            private DefaultActor<?, ?> link = null;
+
+            /**
+             * This is the number of outputs that are connected to the input of this actor.
+             */
+            private final AtomicInteger upstreams = new AtomicInteger();
+
+            /**
+             * This is the number of consecutive times that the stage failed to schedule this actor.
+             * The stage may schedule the actor from worker threads and from timer threads;
+             * therefore, this counter is only incremented atomically.
+             */
+            private volatile int rejections = 0;
+
+            private final long idleTimeoutNanos;
+
+            private final IdleScript<I, O> idleScript;
+
+            /**
+             * This is when this actor last processed a message,
+             * which is only written by the actor itself.
+             */
+            private volatile long lastActivity;
+
+            /**
+             * This flag is true, when the timing-wheel has scheduled a crank,
+             * so that this actor can check whether it is idle.
+             */
+            private volatile boolean idleCheckPending = false;
+
+            /**
+             * This flag is true, if the idle-script already executed during
+             * the current idle period, in which case the timer is not armed.
+             * This field is only accessed by the actor itself.
+             */
+            private boolean idleNotified = false;
+
+            private DefaultActor (final DefaultActorBuilder<I, O> builder)
+            {
+                this.errorHandler = builder.errorHandler;
+                this.mailbox = builder.mailbox != null ? builder.mailbox : newDefaultMailbox();
+                this.script = builder.script;
+                this.batchSize = builder.batchSize;
+                this.batchScript = builder.batchScript;
+                this.maxBatchSize = builder.maxBatchSize;
+                this.maxLingerNanos = builder.maxLingerNanos;
+                this.batch = batchScript == null ? null : new ArrayList<>(maxBatchSize);
+                this.batchView = batchScript == null ? null : Collections.unmodifiableList(batch);
+                this.meta = builder.meta;
+                this.idleTimeoutNanos = builder.idleTimeoutNanos;
+                this.idleScript = builder.idleScript;
+                this.lastActivity = System.nanoTime();
+            }
+
+            @Override
+            public void run ()
+            {
+                final long initial = (long) ACTOR_STATE.getAndBitwiseOr(ACTOR, RUNNING);
+
+                if ((initial & RUNNING) != 0)
+                {
+                    /**
+                     * This should never actually happen, period; however, the likely cause is either:
+                     * (1) the AbstractStage implementation called run() twice for one onRunnable() call,
+                     * (2) the scheduling algorithm in this class is fundamentally broken.
+                     * In the case of custom stages, case (1) is the most likely cause.
+                     */
+                    throw new IllegalStateException("concurrent run()");
+                }
+
+                /**
+                 * Once the stage is closed, the pending messages are never processed;
+                 * rather, they remain pending, so that they are reported by unprocessed().
+                 */
+                if (stageClosed.get())
+                {
+                    ACTOR_STATE.getAndBitwiseAnd(ACTOR, ~(RUNNING | WAKEUP));
+                    return;
+                }
+
+                /**
+                 * Clear the wake-up bit before running, rather than afterwards,
+                 * so that a wake-up requested during this run is not lost.
+                 */
+                final boolean wake = (initial & WAKEUP) != 0;
+
+                if (wake)
+                {
+                    ACTOR_STATE.getAndBitwiseAnd(ACTOR, ~WAKEUP);
+                }
+
+                /**
+                 * Only this thread decrements the counter; therefore, the number of
+                 * pending cranks can only increase while this method is executing.
+                 * Consequently, the initial value is a safe upper-bound on the batch.
+                 */
+                final long cranks = Math.min(batchSize, initial >>> 2);
+
+                /**
+                 * Record that this thread is executing an actor on this stage,
+                 * so that the script can dispatch messages inline, or to fused actors,
+                 * and so that the script can still send messages, while the stage shuts down.
+                 * Otherwise, the thread-local lookup is needless overhead on every run.
+                 */
+                final boolean framed = framing;
+                final InlineFrame frame = framed ? InlineFrame.CURRENT.get() : null;
+                final AbstractStage previous = framed ? frame.stage : null;
+
+                if (framed)
+                {
+                    frame.stage = AbstractStage.this;
+                }
+
+                try
+                {
+                    int processed = 0;
+
+                    if (batchScript != null && (cranks > 0 || wake))
+                    {
+                        processed = crankBatchScript((int) cranks, cranks < (initial >>> 2));
+                    }
+                    else if (cranks == 1)
+                    {
+                        processed = crank();
+                    }
+                    else if (cranks > 1)
+                    {
+                        processed = crankBatch((int) cranks);
+                    }
+
+                    if (idleScript != null)
+                    {
+                        checkIdle(processed);
+                    }
+                }
+                finally
+                {
+                    if (framed)
+                    {
+                        frame.stage = previous;
+                    }
+
+                    /**
+                     * Now that the processing of the batch is complete,
+                     * go ahead and schedule the next batch, if any.
+                     */
+                    scheduleSubsequentMessages(cranks);
+
+                    /**
+                     * Since this actor finished running, capacity may be available.
+                     */
+                    if (overflowed.isEmpty() == false)
+                    {
+                        resubmitOverflow();
+                    }
+                }
+            }
+
+            /**
+             * Process a message immediately on the current thread, if possible.
+             *
+             * @param message is being sent to this actor.
+             * @param maxDepth is the maximum depth of nested dispatches on the current thread.
+             * @return true, only if the message was processed.
+             */
+            private boolean dispatchInline (final I message,
+                                            final int maxDepth)
+            {
+                if (batchScript != null)
+                {
+                    return false;
+                }
+
+                final InlineFrame frame = InlineFrame.CURRENT.get();
+
+                if (frame.stage != AbstractStage.this || frame.depth >= maxDepth)
+                {
+                    return false;
+                }
+
+                /**
+                 * The actor can only be claimed, if it is idle and has no pending messages.
+                 * Once claimed, any concurrent offers will see the running-bit,
+                 * and will therefore leave the scheduling to this thread.
+                 */
+                if (ACTOR_STATE.compareAndSet(ACTOR, 0L, RUNNING) == false)
+                {
+                    return false;
+                }
+
+                ++frame.depth;
+
+                try
+                {
+                    process(message);
+
+                    if (idleScript != null)
+                    {
+                        checkIdle(1);
+                    }
+                }
+                finally
+                {
+                    --frame.depth;
+                    scheduleSubsequentMessages(0);
+                }
+
+                return true;
+            }
+
+            private int crank ()
+            {
+                I message = null;
+
+                try
+                {
+                    /**
+                     * Pull the next message from the mailbox and
+                     * then process the message using the script.
+                     */
+                    message = mailbox.poll();
+
+                    if (message != null)
+                    {
+                        script.onInput(context, message);
+                    }
+                }
+                catch (Throwable cause)
+                {
+                    /**
+                     * Invoke the error-handler given the message and exception,
+                     * but do not allow the error-handler to throw an exception.
+                     * If the poll() threw the exception, then the message is null.
+                     */
+                    handleException(message, cause);
+                }
+
+                return message == null ? 0 : 1;
+            }
+
+            /**
+             * This method will be invoked whenever an output is connected to the input of this actor.
+             */
+            private void onConnect ()
+            {
+                if (upstreams.incrementAndGet() > 1 && mailbox instanceof SpscArrayMailbox)
+                {
+                    upstreams.decrementAndGet();
+                    throw new IllegalStateException("single-producer mailbox");
+                }
+            }
+
+            /**
+             * This method will be invoked whenever an output is disconnected from the input of this actor.
+             */
+            private void onDisconnect ()
+            {
+                upstreams.decrementAndGet();
+            }
+
+            private int crankBatch (final int max)
+            {
+                try
+                {
+                    /**
+                     * Pull the next batch of messages from the mailbox, all at once,
+                     * and then process each of the messages using the script.
+                     * The processor handles any exceptions thrown by the script.
+                     */
+                    return mailbox.drain(processor, max);
+                }
+                catch (Throwable cause)
+                {
+                    /**
+                     * The drain() itself threw the exception; therefore, no message is available.
+                     */
+                    handleException(null, cause);
+                    return 0;
+                }
+            }
+
+            private int crankBatchScript (final int max,
+                                          final boolean morePending)
+            {
+                try
+                {
+                    return collectBatch(max, morePending);
+                }
+                finally
+                {
+                    batchCount = batch.size();
+                }
+            }
+
+            private int collectBatch (final int max,
+                                      final boolean morePending)
+            {
+                int count = 0;
+
+                try
+                {
+                    count = max > 0 ? mailbox.drain(collector, max) : 0;
+                }
+                catch (Throwable cause)
+                {
+                    handleException(null, cause);
+                }
+
+                /**
+                 * If more messages are already pending, then the actor will run again soon;
+                 * therefore, there is no need to decide whether to flush yet.
+                 */
+                if (batch.isEmpty() || morePending)
+                {
+                    return count;
+                }
+
+                final long waited = System.nanoTime() - batchStart;
+
+                /**
+                 * While the stage is draining, the batch is flushed immediately,
+                 * since there is no point in waiting for more messages.
+                 */
+                if (waited >= maxLingerNanos || draining.get())
+                {
+                    flush();
+                }
+                else if (wakeupPending == false)
+                {
+                    wakeupPending = true;
+                    TimingWheel.shared().schedule(this::onWakeup, Duration.ofNanos(maxLingerNanos - waited));
+                }
+
+                return count;
+            }
+
+            private void collect (final I message)
+            {
+                if (batch.isEmpty())
+                {
+                    batchStart = System.nanoTime();
+                }
+
+                batch.add(message);
+
+                if (batch.size() == maxBatchSize)
+                {
+                    flush();
+                }
+            }
+
+            private void flush ()
+            {
+                try
+                {
+                    batchScript.onInput(context, batchView);
+                }
+                catch (Throwable cause)
+                {
+                    handleException(null, cause);
+                }
+                finally
+                {
+                    batch.clear();
+                }
+            }
+
+            /**
+             * This method is invoked by the timer, when an incomplete batch has lingered.
+             * A wake-up is requested, so that the actor will run and flush the batch,
+             * since only the actor may touch the batch.
+             */
+            private void onWakeup ()
+            {
+                wakeupPending = false;
+                requestWakeup();
+            }
+
+            private void armIdleTimer (final long delayNanos)
+            {
+                TimingWheel.shared().schedule(this::onIdleTimer, Duration.ofNanos(delayNanos));
+            }
+
+            /**
+             * This method is invoked by the timing-wheel, when the idle-timeout may have expired.
+             * Messages do not reset the timer; rather, the timer re-arms itself
+             * for the remaining time, if the actor has been active since arming.
+             * Thus, at most one timeout is outstanding per actor at any time.
+             */
+            private void onIdleTimer ()
+            {
+                if (stageClosed.get())
+                {
+                    return;
+                }
+
+                final long elapsed = System.nanoTime() - lastActivity;
+
+                if (elapsed >= idleTimeoutNanos)
+                {
+                    /**
+                     * The idle-script must be executed by the actor itself,
+                     * so that it never executes concurrently with the script.
+                     */
+                    idleCheckPending = true;
+                    requestWakeup();
+                }
+                else
+                {
+                    armIdleTimer(idleTimeoutNanos - elapsed);
+                }
+            }
+
+            /**
+             * This method is only invoked by the actor itself, after processing messages.
+             *
+             * @param processed is the number of messages that were just processed.
+             */
+            private void checkIdle (final int processed)
+            {
+                if (processed > 0)
+                {
+                    lastActivity = System.nanoTime();
+
+                    /**
+                     * If the timer is not currently armed, then re-arm it,
+                     * since the actor has begun a new period of activity.
+                     */
+                    if (idleNotified || idleCheckPending)
+                    {
+                        idleNotified = false;
+                        idleCheckPending = false;
+                        armIdleTimer(idleTimeoutNanos);
+                    }
+                }
+                else if (idleCheckPending)
+                {
+                    idleCheckPending = false;
+
+                    final long elapsed = System.nanoTime() - lastActivity;
+
+                    if (elapsed < idleTimeoutNanos)
+                    {
+                        armIdleTimer(idleTimeoutNanos - elapsed);
+                    }
+                    else if (idleNotified == false)
+                    {
+                        idleNotified = true;
+
+                        try
+                        {
+                            idleScript.onIdle(context);
+                        }
+                        catch (Throwable cause)
+                        {
+                            handleException(null, cause);
+                        }
+                    }
+                }
+            }
+
+            private void process (final I message)
+            {
+                try
+                {
+                    script.onInput(context, message);
+                }
+                catch (Throwable cause)
+                {
+                    handleException(message, cause);
+                }
+            }
+
+            private void handleException (final I message,
+                                          final Throwable cause)
+            {
+                try
+                {
+                    errorHandler.onError(context, message, cause);
+                }
+                catch (Throwable ignored)
+                {
+                    // Pass, because errors from error-handlers cannot be reasonably handled.
+                }
+            }
+
+            /**
+             * Get the number of messages that this actor has admitted, but not yet processed.
+             */
+            private long unprocessed ()
+            {
+                return (state >>> 2) + batchCount + delayed;
+            }
+
+            /**
+             * Determine whether this actor still has work to do,
+             * which prevents a draining stage from closing.
+             * The idle-timer is not considered, since the idle-timer
+             * only causes work, if the actor is already idle.
+             */
+            private boolean isBusy ()
+            {
+                return state != 0 || batchCount != 0 || delayed != 0;
+            }
+
+            private void addDelayed (final long delta)
+            {
+                ACTOR_DELAYED.getAndAdd(ACTOR, delta);
+
+                if (draining.get())
+                {
+                    recount(ACTOR);
+                }
+            }
+
+            private void scheduleInitialMessage ()
+            {
+                scheduleInitialMessages(1);
+            }
+
+            private void scheduleInitialMessages (final long count)
+            {
+                /**
+                 * Only the transition from idle needs to schedule the actor.
+                 * If the actor is already scheduled or running, then the
+                 * increment will be observed at the end of run().
+                 */
+                if ((long) ACTOR_STATE.getAndAdd(ACTOR, count * PENDING) == 0)
+                {
+                    onBusy();
+                    safelySchedule(ACTOR);
+                }
+            }
+
+            /**
+             * Cause the actor to run, even though no messages are pending.
+             * Unlike a message, a wake-up is not counted as a pending crank;
+             * rather, concurrent wake-ups coalesce into a single run.
+             */
+            private void requestWakeup ()
+            {
+                if ((long) ACTOR_STATE.getAndBitwiseOr(ACTOR, WAKEUP) == 0)
+                {
+                    onBusy();
+                    safelySchedule(ACTOR);
+                }
+            }
+
+            /**
+             * While the stage is draining, this actor must be counted as busy,
+             * before the sender of the message finishes running, since the stage
+             * would otherwise close prematurely, if the sender became quiet first.
+             */
+            private void onBusy ()
+            {
+                if (draining.get())
+                {
+                    recount(ACTOR);
+                }
+            }
+
+            private void scheduleSubsequentMessages (final long cranks)
+            {
+                /**
+                 * Consume the cranks and clear the running-bit at the same time,
+                 * so that a concurrent offer cannot slip between the two steps.
+                 */
+                final long delta = cranks * PENDING + RUNNING;
+                final long remaining = (long) ACTOR_STATE.getAndAdd(ACTOR, -delta) - delta;
+
+                if (remaining != 0)
+                {
+                    safelySchedule(ACTOR);
+                }
+                else if (draining.get())
+                {
+                    recount(ACTOR);
+                }
+            }
+
+            @Override
+            public Stage stage ()
+            {
+                return STAGE;
+            }
+
+            @Override
+            public Context<I, O> context ()
+            {
+                return context;
+            }
+
+            @Override
+            public Input<I> input ()
+            {
+                return input;
+            }
+
+            @Override
+            public Output<O> output ()
+            {
+                return output;
+            }
+
+            public Object meta ()
+            {
+                return meta;
+            }
+
+            public void meta (final Object value)
+            {
+                meta = value;
+            }
+
+            private final class DefaultContext
+                    implements Context<I, O>
+            {
+                @Override
+                public Actor<I, O> actor ()
+                {
+                    return ACTOR;
+                }
+
+                @Override
+                public boolean offerFrom (final O message)
+                {
+                    boolean sentToAll = true;
+
+                    if (message != null)
+                    {
+                        /**
+                         * If this actor is fused with the downstream actor, then process
+                         * the message immediately, unless the downstream actor has since
+                         * gained additional upstream connections, or cannot be claimed.
+                         * The shortcut is subject to the same admission check as the
+                         * unfused path, so that closing the stage stops the whole chain.
+                         */
+                        final DefaultActor<O, ?> fused = output.fusedTarget;
+
+                        if (fused != null && fusion && fused.upstreams.get() == 1 && admits(ACTOR) && fused.dispatchInline(message, MAX_FUSION_DEPTH))
+                        {
+                            return true;
+                        }
+
+                        final List<Input<O>> outputs = output.connectionList;
+                        final int length = outputs.size();
+
+                        // Using for instead of for-each avoids creating an iterator object.
+                        for (int i = 0; i < length; i++)
+                        {
+                            sentToAll &= offerFromActor(outputs.get(i), message, ACTOR);
+                        }
+                    }
+
+                    return sentToAll;
+                }
+
+                @Override
+                public boolean offerTo (final I message)
+                {
+                    return offerTo(message, null);
+                }
+
+                private boolean offerTo (final I message,
+                                         final DefaultActor<?, ?> sender)
+                {
+                    Objects.requireNonNull(message, "message");
+
+                    if (admits(sender) == false)
+                    {
+                        return false;
+                    }
+                    else if (inlineDispatchDepth > 0 && dispatchInline(message, inlineDispatchDepth))
+                    {
+                        return true;
+                    }
+
+                    /**
+                     * An absorbed message does not need a crank of its own,
+                     * since the message that absorbed it is already counted.
+                     */
+                    final int added = mailbox.offerPending(message);
+
+                    if (added > 0)
+                    {
+                        scheduleInitialMessage();
+                    }
+
+                    return added >= 0;
+                }
+
+                @Override
+                public int offerAllTo (final Collection<? extends I> messages)
+                {
+                    Objects.requireNonNull(messages, "messages");
+
+                    for (I message : messages)
+                    {
+                        Objects.requireNonNull(message, "message");
+                    }
+
+                    if (admits(null) == false)
+                    {
+                        return 0;
+                    }
+
+                    final int count = mailbox.offerAll(messages);
+
+                    if (count > 0)
+                    {
+                        scheduleInitialMessages(count);
+                    }
+
+                    return count;
+                }
+
+                @Override
+                public TimingWheel.Timeout sendToAfter (final I message,
+                                                        final Duration delay)
+                {
+                    Objects.requireNonNull(message, "message");
+                    Objects.requireNonNull(delay, "delay");
+                    return new ScheduledSend(message).scheduleOnce(delay);
+                }
+
+                @Override
+                public TimingWheel.Timeout sendToEvery (final I message,
+                                                        final Duration period)
+                {
+                    Objects.requireNonNull(message, "message");
+                    Objects.requireNonNull(period, "period");
+                    return new ScheduledSend(message).scheduleEvery(period);
+                }
+            };
+
+            /**
+             * A message that will be sent to this actor by the shared timing-wheel.
+             *
+             * <p>
+             * A delayed message is admitted, when the message is scheduled, rather than
+             * when the delay expires, and is counted as unprocessed in the meantime,
+             * so that a graceful shutdown waits for the message, instead of losing it.
+             * Conversely, a periodic message is admitted each time that it is sent;
+             * therefore, the periodic sends are cancelled, when the stage stops admitting.
+             * </p>
+             */
+            private final class ScheduledSend
+                    implements TimingWheel.Timeout,
+                               Runnable
+            {
+                private final I message;
+
+                /**
+                 * This flag becomes true, when a delayed send either expires or is cancelled,
+                 * or when a periodic send is cancelled, which happens at most once.
+                 */
+                private final AtomicBoolean settled = new AtomicBoolean(false);
+
+                private volatile boolean cancelled = false;
+
+                private volatile boolean periodic = false;
+
+                private volatile TimingWheel.Timeout timeout = null;
+
+                private ScheduledSend (final I message)
+                {
+                    this.message = message;
+                }
+
+                private ScheduledSend scheduleOnce (final Duration delay)
+                {
+                    if (admits(null) == false)
+                    {
+                        settled.set(true);
+                        cancelled = true;
+                        return this;
+                    }
+
+                    addDelayed(1);
+                    timeout = TimingWheel.shared().schedule(this, delay);
+                    return this;
+                }
+
+                private ScheduledSend scheduleEvery (final Duration period)
+                {
+                    periodic = true;
+                    timeout = TimingWheel.shared().scheduleAtFixedRate(this, period, period);
+                    periodicSends.add(this);
+
+                    /**
+                     * If the stage stopped admitting concurrently,
+                     * then the stage may not have seen this send.
+                     */
+                    if (admitting == false)
+                    {
+                        cancel();
+                    }
+
+                    return this;
+                }
+
+                @Override
+                public void run ()
+                {
+                    if (periodic)
+                    {
+                        context.offerTo(message);
+                    }
+                    else if (settled.compareAndSet(false, true) && stageClosed.get() == false)
+                    {
+                        /**
+                         * The message was already admitted; therefore,
+                         * the message bypasses the admission check.
+                         */
+                        if (mailbox.offerPending(message) > 0)
+                        {
+                            scheduleInitialMessage();
+                        }
+
+                        addDelayed(-1);
+                    }
+                }
+
+                @Override
+                public boolean cancel ()
+                {
+                    if (settled.compareAndSet(false, true) == false)
+                    {
+                        return false;
+                    }
+
+                    cancelled = true;
+                    timeout.cancel();
+
+                    if (periodic)
+                    {
+                        periodicSends.remove(this);
+                    }
+                    else
+                    {
+                        addDelayed(-1);
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public boolean isCancelled ()
+                {
+                    return cancelled;
+                }
+
+                @Override
+                public boolean isExpired ()
+                {
+                    return settled.get() && cancelled == false;
+                }
+            }
+
+            /**
+             * Default Implementation of <code>Actor.Input</code>.
+             */
+            private final class DefaultInput
+                    implements Actor.Input<I>
+            {
+                @Override
+                public Actor<I, ?> actor ()
+                {
+                    return ACTOR;
+                }
+
+                /**
+                 * Send a message to the actor from the given actor, which is admitted,
+                 * while the stage is shutting down, if the sender is running on the same stage.
+                 */
+                private boolean offerFrom (final I message,
+                                           final DefaultActor<?, ?> sender)
+                {
+                    return context.offerTo(message, sender);
+                }
+
+                @Override
+                public TimingWheel.Timeout sendAfter (final I message,
+                                                      final Duration delay)
+                {
+                    return context.sendToAfter(message, delay);
+                }
+
+                @Override
+                public TimingWheel.Timeout sendEvery (final I message,
+                                                      final Duration period)
+                {
+                    return context.sendToEvery(message, period);
+                }
+            }
+
+            /**
+             * Default Implementation of <code>Actor.Output</code>.
+             */
+            private final class DefaultOutput
+                    implements Actor.Output<O>
+            {
+                /**
+                 * This lock is used to prevent concurrent connections and disconnections;
+                 * however, this lock is not in the critical-path of message processing.
+                 */
+                private final Object outputLock = new Object();
+
+                /**
+                 * This is an immutable list containing the inputs that this output is connected to.
+                 */
+                private volatile List<Input<O>> connectionList = newImmutableList(Collections.EMPTY_LIST);
+
+                /**
+                 * This is the actor on this stage, if any, that is the sole recipient of messages from this output.
+                 */
+                private volatile DefaultActor<O, ?> fusedTarget = null;
+
+                @Override
+                public Actor<?, O> actor ()
+                {
+                    return ACTOR;
+                }
+
+                @Override
+                public Output<O> connect (final Stage.Actor.Input<O> input)
+                {
+                    Objects.requireNonNull(input, "input");
+
+                    synchronized (outputLock)
+                    {
+                        if (isConnected(input) == false)
+                        {
+                            if (input.actor() instanceof DefaultActor)
+                            {
+                                ((DefaultActor<?, ?>) input.actor()).onConnect();
+                            }
+
+                            final List<Input<O>> modified = new ArrayList<>(connectionList);
+                            modified.add(input);
+                            connectionList = newImmutableList(modified);
+                            fusedTarget = findFusedTarget();
+                        }
+                    }
+
+                    return this;
+                }
+
+                @Override
+                public Output<O> disconnect (final Stage.Actor.Input<O> input)
+                {
+                    Objects.requireNonNull(input, "input");
+
+                    synchronized (outputLock)
+                    {
+                        if (isConnected(input))
+                        {
+                            if (input.actor() instanceof DefaultActor)
+                            {
+                                ((DefaultActor<?, ?>) input.actor()).onDisconnect();
+                            }
+
+                            final List<Input<O>> modified = new ArrayList<>(connectionList);
+                            modified.remove(input);
+                            connectionList = newImmutableList(modified);
+                            fusedTarget = findFusedTarget();
+                        }
+                    }
+
+                    return this;
+                }
+
+                @Override
+                public boolean isConnected (final Input<?> input)
+                {
+                    return connectionList.contains(input);
+                }
+
+                private DefaultActor<O, ?> findFusedTarget ()
+                {
+                    if (connectionList.size() != 1)
+                    {
+                        return null;
+                    }
+
+                    /**
+                     * Only the default input of an actor on this stage is eligible,
+                     * since other implementations of the input may transform the messages.
+                     */
+                    final Input<O> input = connectionList.get(0);
+                    final Actor<O, ?> target = input.actor();
+                    final boolean eligible = target instanceof DefaultActor && target.stage() == STAGE && target.input() == input;
+                    return eligible ? (DefaultActor<O, ?>) target : null;
+                }
+            }
+        }
+
+        private static <T> List<T> newImmutableList (final Collection<T> collection)
+        {
+            return List.copyOf(collection);
+        }
+    }
+
+    /**
+     * Defines how a stage responds, when it is unable to schedule a runnable actor,
+     * such as when a bounded executor rejects the actor.
+     *
+     * <p>
+     * Whenever <code>onRunnable()</code> throws an exception, the stage creates
+     * a <code>Rejection</code> and passes it to the policy. The policy must
+     * resolve the rejection, by invoking exactly one of its methods,
+     * either immediately or later, such as after a delay.
+     * Until the rejection is resolved, the actor will not run;
+     * however, the actor will continue to accept messages.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface OverloadPolicy
+    {
+        /**
+         * An actor that the stage was unable to schedule.
+         */
+        public interface Rejection
+        {
+            /**
+             * Get the actor that needs to be scheduled.
+             *
+             * @return the actor.
+             */
+            public Stage.Actor<?, ?> actor ();
+
+            /**
+             * Get the exception that was thrown while trying to schedule the actor.
+             *
+             * @return the cause of the rejection.
+             */
+            public Throwable cause ();
+
+            /**
+             * Get the number of consecutive times that the actor was rejected.
+             *
+             * @return the number of attempts to schedule the actor, thus far.
+             */
+            public int attempt ();
+
+            /**
+             * Try to schedule the actor again, immediately.
+             *
+             * <p>
+             * If the actor is rejected again, then the policy will be
+             * invoked again, recursively, on the current thread.
+             * If too many nested retries are already being attempted
+             * on the current thread, then the actor will be added
+             * to the overflow list, instead.
+             * </p>
+             */
+            public void retry ();
+
+            /**
+             * Try to schedule the actor again, after a delay.
+             *
+             * @param delay is how long to wait, before retrying.
+             */
+            public void retryAfter (Duration delay);
+
+            /**
+             * Run the actor on the current thread.
+             *
+             * <p>
+             * If too many nested rejections are already being run
+             * on the current thread, or if the current thread powers
+             * a timer, such as the shared timing-wheel, then the actor
+             * will be added to the overflow list, instead.
+             * </p>
+             */
+            public void runOnCaller ();
+
+            /**
+             * Add the actor to the overflow list of the stage.
+             *
+             * <p>
+             * The stage will resubmit the actors on the overflow list,
+             * in the order that they were added, whenever another actor finishes running,
+             * since that implies that capacity may have become available,
+             * and periodically, in case no other actors are running.
+             * </p>
+             */
+            public void overflow ();
+
+            /**
+             * Close the stage.
+             *
+             * <p>
+             * The pending messages of the actor will never be processed.
+             * </p>
+             */
+            public void closeStage ();
+        }
+
+        /**
+         * This method will be invoked, whenever a stage is unable to schedule an actor.
+         *
+         * @param rejection describes the actor that must be scheduled.
+         */
+        public void onRejected (Rejection rejection);
+
+        /**
+         * Create a policy that closes the stage, whenever an actor is rejected.
+         *
+         * <p>
+         * This is the default policy, since it ensures that an overloaded
+         * stage never silently stops processing messages.
+         * </p>
+         *
+         * @return the new policy.
+         */
+        public static OverloadPolicy closeStage ()
+        {
+            return Rejection::closeStage;
+        }
+
+        /**
+         * Create a policy that retries scheduling the rejected actor,
+         * after exponentially increasing delays, up to a maximum delay.
+         *
+         * @param initialBackoff is the delay before the first retry.
+         * @param maxBackoff is the maximum delay between retries.
+         * @return the new policy.
+         */
+        public static OverloadPolicy retry (final Duration initialBackoff,
+                                            final Duration maxBackoff)
+        {
+            if (initialBackoff.isNegative() || initialBackoff.isZero())
+            {
+                throw new IllegalArgumentException("initialBackoff <= 0");
+            }
+            else if (maxBackoff.compareTo(initialBackoff) < 0)
+            {
+                throw new IllegalArgumentException("maxBackoff < initialBackoff");
+            }
+
+            return rejection ->
+            {
+                /**
+                 * The backoff saturates at the maximum, rather than overflowing,
+                 * since initialBackoff * 2^shift exceeds maxBackoff,
+                 * if and only if initialBackoff exceeds maxBackoff / 2^shift.
+                 */
+                final int shift = Math.max(0, Math.min(rejection.attempt() - 1, 62));
+                final boolean saturated = initialBackoff.compareTo(maxBackoff.dividedBy(1L << shift)) > 0;
+                rejection.retryAfter(saturated ? maxBackoff : initialBackoff.multipliedBy(1L << shift));
+            };
+        }
+
+        /**
+         * Create a policy that runs the rejected actor on the thread that tried to schedule it.
+         *
+         * <p>
+         * This naturally throttles the producers of the messages,
+         * since they must perform the work themselves.
+         * </p>
+         *
+         * @return the new policy.
+         */
+        public static OverloadPolicy callerRuns ()
+        {
+            return Rejection::runOnCaller;
+        }
+
+        /**
+         * Create a policy that adds the rejected actor to the overflow list of the stage,
+         * so that the actor will be resubmitted, when capacity becomes available.
+         *
+         * @return the new policy.
+         */
+        public static OverloadPolicy overflow ()
+        {
+            return Rejection::overflow;
+        }
+    }
+
+    /**
+     * Defines how the worker threads of a stage behave, when they have no work to do.
+     *
+     * <p>
+     * Whenever work becomes available for an idle worker thread, the thread
+     * will be unparked via <code>LockSupport.unpark()</code>; therefore,
+     * implementations may safely park the thread, even indefinitely.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface IdleStrategy
+    {
+        /**
+         * This method will be invoked repeatedly by an idle worker thread,
+         * until work becomes available for the thread.
+         *
+         * @param idleCount is the number of consecutive invocations of this method
+         * by the worker thread, since the worker last found work, starting at one.
+         */
+        public void idle (int idleCount);
+
+        /**
+         * Determine whether this strategy may ever park the worker thread.
+         *
+         * <p>
+         * If this method returns false, then the worker thread never needs
+         * to be unparked, when work becomes available for the thread;
+         * therefore, the stage will not bother to do so.
+         * </p>
+         *
+         * @return true, if the worker thread may need to be unparked.
+         */
+        public default boolean parks ()
+        {
+            return true;
+        }
+
+        /**
+         * Create an idle-strategy that parks the worker thread until work becomes available.
+         *
+         * <p>
+         * This strategy minimizes the consumption of CPU time,
+         * at the cost of the latency needed to unpark the thread.
+         * </p>
+         *
+         * @return the new strategy.
+         */
+        public static IdleStrategy blocking ()
+        {
+            return idleCount -> LockSupport.park();
+        }
+
+        /**
+         * Create an idle-strategy that spins the worker thread continuously.
+         *
+         * <p>
+         * This strategy minimizes latency, at the cost of fully consuming
+         * one processor per worker thread, even when there is no work to do.
+         * Therefore, this strategy should only be used, if the number of
+         * worker threads is less than the number of available processors.
+         * </p>
+         *
+         * @return the new strategy.
+         */
+        public static IdleStrategy busySpin ()
+        {
+            return new IdleStrategy()
+            {
+                @Override
+                public void idle (final int idleCount)
+                {
+                    Thread.onSpinWait();
+                }
+
+                @Override
+                public boolean parks ()
+                {
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Create an idle-strategy that spins the worker thread for a while
+         * and then repeatedly yields the processor to other threads.
+         *
+         * @param spins is the number of times to spin, before yielding.
+         * @return the new strategy.
+         */
+        public static IdleStrategy spinThenYield (final int spins)
+        {
+            if (spins < 0)
+            {
+                throw new IllegalArgumentException("spins < 0");
+            }
+
+            return new IdleStrategy()
+            {
+                @Override
+                public void idle (final int idleCount)
+                {
+                    if (idleCount <= spins)
+                    {
+                        Thread.onSpinWait();
+                    }
+                    else
+                    {
+                        Thread.yield();
+                    }
+                }
+
+                @Override
+                public boolean parks ()
+                {
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Create an idle-strategy that spins the worker thread for a while,
+         * then yields the processor for a while, and then parks the worker thread
+         * for exponentially increasing periods of time, up to a maximum.
+         *
+         * <p>
+         * A parked worker thread is unparked early, whenever work becomes available;
+         * therefore, the maximum park time bounds the cost of a missed wake-up,
+         * rather than the latency of the typical wake-up.
+         * </p>
+         *
+         * @param spins is the number of times to spin, before yielding.
+         * @param yields is the number of times to yield, before parking.
+         * @param minPark is the duration of the first park.
+         * @param maxPark is the maximum duration of any single park.
+         * @return the new strategy.
+         */
+        public static IdleStrategy backoff (final int spins,
+                                            final int yields,
+                                            final Duration minPark,
+                                            final Duration maxPark)
+        {
+            if (spins < 0)
+            {
+                throw new IllegalArgumentException("spins < 0");
+            }
+            else if (yields < 0)
+            {
+                throw new IllegalArgumentException("yields < 0");
+            }
+            else if (minPark.isNegative() || minPark.isZero())
+            {
+                throw new IllegalArgumentException("minPark <= 0");
+            }
+            else if (maxPark.compareTo(minPark) < 0)
+            {
+                throw new IllegalArgumentException("maxPark < minPark");
+            }
+
+            final long minParkNanos = saturatedNanos(minPark);
+            final long maxParkNanos = saturatedNanos(maxPark);
+            final long parkThreshold = (long) spins + yields;
+
+            return idleCount ->
+            {
+                if (idleCount <= spins)
+                {
+                    Thread.onSpinWait();
+                }
+                else if (idleCount <= parkThreshold)
+                {
+                    Thread.yield();
+                }
+                else
+                {
+                    /**
+                     * Double the park time after each park, while taking care not to overflow.
+                     */
+                    final long shift = idleCount - parkThreshold - 1;
+                    final boolean overflow = shift >= Long.numberOfLeadingZeros(minParkNanos) - 1;
+                    final long nanos = overflow ? maxParkNanos : Math.min(minParkNanos << shift, maxParkNanos);
+                    LockSupport.parkNanos(nanos);
+                }
+            };
+        }
+    }
+
+    /**
+     * A <code>Stage</code> implementation based on a fixed set of event-loop threads.
+     *
+     * <p>
+     * Each worker thread, herein called a lane, owns a run-queue of actors.
+     * The run-queue is intrusive, meaning that the actors themselves are
+     * the nodes of the linked-list; therefore, scheduling an actor never
+     * allocates an object and never acquires a lock. Rather, scheduling
+     * an actor from another thread only requires a single compare-and-swap
+     * operation, in the common case. Moreover, scheduling an actor from
+     * the lane that the actor is pinned to does not require any
+     * atomic operations at all, since no cross-thread handoff occurs.
+     * </p>
+     *
+     * <p>
+     * Each actor is pinned to exactly one lane. Thereafter, the actor
+     * will always run on that lane, so that the state of the actor stays
+     * in the cache of the processor. Actors created via <code>newActor(lane)</code>
+     * or <code>newActorByKey(key)</code> are pinned to a specific lane;
+     * therefore, actors that share a resource, which is not thread-safe,
+     * can be deliberately co-located on the same lane.
+     * All other actors are assigned to lanes, in round-robin order,
+     * the first time that the actor needs to run.
+     * </p>
+     *
+     * <p>
+     * This stage uses the <code>meta</code> field of each actor.
+     * </p>
+     */
+    public static final class EventLoopStage
+            extends AbstractStage
+    {
+        private final Worker[] workers;
+
+        private final AtomicInteger nextWorker = new AtomicInteger();
+
+        private volatile boolean stopped = false;
+
+        private EventLoopStage (final int threadCount,
+                                final ThreadFactory factory,
+                                final IdleStrategy strategy)
+        {
+            if (threadCount < 1)
+            {
+                throw new IllegalArgumentException("threadCount < 1");
+            }
+
+            this.workers = new Worker[threadCount];
+
+            for (int i = 0; i < threadCount; i++)
+            {
+                workers[i] = new Worker(this, strategy);
+                workers[i].thread = factory.newThread(workers[i]);
+            }
+
+            for (Worker worker : workers)
+            {
+                worker.thread.start();
+            }
+        }
+
+        /**
+         * Get the number of lanes (worker threads) in this stage.
+         *
+         * @return the number of lanes.
+         */
+        public int laneCount ()
+        {
+            return workers.length;
+        }
+
+        /**
+         * Create a builder that will build actors pinned to the given lane.
+         *
+         * @param <I> is the type of messages that the actor will consume.
+         * @param <O> is the type of messages that the actor will produce.
+         * @param lane identifies the lane that the actors will always run on.
+         * @return the new builder.
+         * @throws IndexOutOfBoundsException if the lane does not exist.
+         */
+        public <I, O> Actor.Builder<I, O> newActor (final int lane)
+        {
+            return newActorWithMeta(workers[Objects.checkIndex(lane, workers.length)]);
+        }
+
+        /**
+         * Create a builder that will build actors pinned to the lane
+         * that is selected by the hash-code of the given key.
+         *
+         * <p>
+         * Actors created using equal keys will always run on the same lane.
+         * </p>
+         *
+         * @param <I> is the type of messages that the actor will consume.
+         * @param <O> is the type of messages that the actor will produce.
+         * @param key determines the lane that the actors will always run on.
+         * @return the new builder.
+         */
+        public <I, O> Actor.Builder<I, O> newActorByKey (final Object key)
+        {
+            return newActor(laneOf(key));
+        }
+
+        /**
+         * Get the lane that <code>newActorByKey()</code> would pin an actor to, given a key.
+         *
+         * @param key determines the lane.
+         * @return the lane that corresponds to the key.
+         */
+        public int laneOf (final Object key)
+        {
+            Objects.requireNonNull(key, "key");
+
+            /**
+             * Spread the bits of the hash-code, in case the low-order bits are poorly distributed.
+             */
+            final int hash = key.hashCode();
+            return Math.floorMod(hash ^ (hash >>> 16), workers.length);
+        }
+
+        /**
+         * Get the number of actors that are currently pinned to a lane.
+         *
+         * <p>
+         * Actors that were created without a lane are not counted,
+         * until they are first assigned to a lane.
+         * </p>
+         *
+         * @param lane identifies the lane.
+         * @return the number of actors pinned to the lane.
+         * @throws IndexOutOfBoundsException if the lane does not exist.
+         */
+        public int laneActorCount (final int lane)
+        {
+            return workers[Objects.checkIndex(lane, workers.length)].actorCount.get();
+        }
+
+        /**
+         * Get the number of times that actors have been run on a lane.
+         *
+         * @param lane identifies the lane.
+         * @return the number of actor executions on the lane, thus far.
+         * @throws IndexOutOfBoundsException if the lane does not exist.
+         */
+        public long laneRunCount (final int lane)
+        {
+            final Worker worker = workers[Objects.checkIndex(lane, workers.length)];
+            return worker.localRunCount + worker.remoteRunCount;
+        }
+
+        /**
+         * Get the number of times that actors were run on a lane, after having been
+         * scheduled by a different thread, which required a cross-thread handoff.
+         *
+         * <p>
+         * If most of the executions on a lane require handoffs, then the actors,
+         * which communicate with each other, may be better co-located on the same lane.
+         * </p>
+         *
+         * @param lane identifies the lane.
+         * @return the number of cross-thread handoffs to the lane, thus far.
+         * @throws IndexOutOfBoundsException if the lane does not exist.
+         */
+        public long laneHandoffCount (final int lane)
+        {
+            return workers[Objects.checkIndex(lane, workers.length)].remoteRunCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onRunnable (final DefaultActor<?, ?> actor)
+        {
+            if (stopped)
+            {
+                throw new RejectedExecutionException();
+            }
+
+            /**
+             * The stage never invokes this method concurrently for the same actor;
+             * therefore, the assignment of the worker is free of race-conditions.
+             */
+            Worker worker = (Worker) actor.meta();
+
+            if (worker == null)
+            {
+                worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+                worker.actorCount.incrementAndGet();
+                actor.meta(worker);
+            }
+
+            worker.push(actor);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onCreate (final DefaultActor<?, ?> actor)
+        {
+            if (actor.meta() instanceof Worker)
+            {
+                ((Worker) actor.meta()).actorCount.incrementAndGet();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * The worker threads will finish running any actors
+         * that are already in their run-queues and then die.
+         * </p>
+         */
+        @Override
+        protected void onClose ()
+        {
+            stopped = true;
+
+            for (Worker worker : workers)
+            {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        /**
+         * An event-loop thread and its run-queues.
+         */
+        private static final class Worker
+                implements Runnable
+        {
+            private static final VarHandle TOP;
+
+            /**
+             * This sentinel is placed on top of the remote run-queue, when the worker exits,
+             * so that any actors pushed thereafter are rejected, rather than stranded.
+             */
+            private static final Object SEALED = new Object();
+
+            static
+            {
+                try
+                {
+                    TOP = MethodHandles.lookup().findVarHandle(Worker.class, "top", Object.class);
+                }
+                catch (ReflectiveOperationException ex)
+                {
+                    throw new ExceptionInInitializerError(ex);
+                }
+            }
+
+            private final EventLoopStage stage;
+
+            private final IdleStrategy strategy;
+
+            /**
+             * This flag is false, if the idle-strategy never parks the worker,
+             * in which case pushing an actor never needs to unpark the worker.
+             */
+            private final boolean parks;
+
+            private Thread thread;
+
+            /**
+             * The remote run-queue is a lock-free stack of actors linked via <code>DefaultActor.link</code>.
+             * Other threads push actors onto the stack. The worker takes the entire stack at once
+             * and then reverses it, so that the actors are run in the order scheduled.
+             * Since the worker always takes the entire stack, the ABA problem cannot occur.
+             * Once the worker exits, the top of the stack is permanently <code>SEALED</code>.
+             */
+            private volatile Object top = null;
+
+            /**
+             * The local run-queue is a plain FIFO of actors linked via <code>DefaultActor.link</code>,
+             * which is only ever accessed by the worker thread itself.
+             * An actor can be in at most one run-queue at a time, since
+             * the stage never schedules an actor that is already scheduled.
+             */
+            private DefaultActor<?, ?> localHead = null;
+
+            private DefaultActor<?, ?> localTail = null;
+
+            /**
+             * This flag is true, whenever the worker may be parked waiting for work.
+             */
+            private volatile boolean idle = false;
+
+            private final AtomicInteger actorCount = new AtomicInteger();
+
+            /**
+             * These counters are only written by the worker thread itself.
+             */
+            private volatile long localRunCount = 0;
+
+            private volatile long remoteRunCount = 0;
+
+            private Worker (final EventLoopStage stage,
+                            final IdleStrategy strategy)
+            {
+                this.stage = stage;
+                this.strategy = strategy;
+                this.parks = strategy.parks();
+            }
+
+            private void push (final DefaultActor<?, ?> actor)
+            {
+                if (Thread.currentThread() == thread)
+                {
+                    pushLocal(actor);
+                    return;
+                }
+
+                Object head;
+
+                do
+                {
+                    head = top;
+
+                    if (head == SEALED)
+                    {
+                        throw new RejectedExecutionException();
+                    }
+
+                    actor.link = (DefaultActor<?, ?>) head;
+                }
+                while (TOP.compareAndSet(this, head, actor) == false);
+
+                /**
+                 * Only the push onto an empty stack needs to wake the worker.
+                 * The worker sets the idle-flag before checking the stack,
+                 * while we check the idle-flag after pushing onto the stack;
+                 * therefore, at least one of us will notice the other.
+                 */
+                if (parks && head == null && idle)
+                {
+                    LockSupport.unpark(thread);
+                }
+            }
+
+            private void pushLocal (final DefaultActor<?, ?> actor)
+            {
+                actor.link = null;
+
+                if (localTail == null)
+                {
+                    localHead = actor;
+                }
+                else
+                {
+                    localTail.link = actor;
+                }
+
+                localTail = actor;
+            }
+
+            @Override
+            public void run ()
+            {
+                int idleCount = 0;
+
+                while (true)
+                {
+                    final DefaultActor<?, ?> head = top == null ? null : (DefaultActor<?, ?>) TOP.getAndSet(this, null);
+
+                    if (head != null)
+                    {
+                        if (idleCount != 0)
+                        {
+                            idle = false;
+                            idleCount = 0;
+                        }
+
+                        runRemote(head);
+                    }
+
+                    if (localHead != null)
+                    {
+                        runLocal();
+                    }
+                    else if (head != null)
+                    {
+                        continue;
+                    }
+                    else if (stage.stopped)
+                    {
+                        exit();
+                        return;
+                    }
+                    else if (idleCount == 0)
+                    {
+                        /**
+                         * Announce that we are idle, but then re-check the stack,
+                         * before actually idling, in order to avoid lost wake-ups.
+                         */
+                        idle = true;
+                        idleCount = 1;
+                    }
+                    else
+                    {
+                        strategy.idle(idleCount);
+                        idleCount = idleCount == Integer.MAX_VALUE ? idleCount : idleCount + 1;
+                    }
+                }
+            }
+
+            private void exit ()
+            {
+                /**
+                 * An actor may have been pushed after the stage stopped, but before now.
+                 * Seal the stack, so that any such actor is run by this final pass,
+                 * while any actor pushed hereafter is rejected by push().
+                 */
+                final DefaultActor<?, ?> head = (DefaultActor<?, ?>) TOP.getAndSet(this, SEALED);
+
+                if (head != null)
+                {
+                    runRemote(head);
+                }
+
+                while (localHead != null)
+                {
+                    runLocal();
+                }
+            }
+
+            private void runRemote (DefaultActor<?, ?> head)
+            {
+                DefaultActor<?, ?> reversed = null;
+                long count = 0;
+
+                while (head != null)
+                {
+                    final DefaultActor<?, ?> next = head.link;
+                    head.link = reversed;
+                    reversed = head;
+                    head = next;
+                    ++count;
+                }
+
+                remoteRunCount += count;
+
+                while (reversed != null)
+                {
+                    /**
+                     * Unlink the actor before running it, since the actor
+                     * may be re-scheduled, and therefore re-linked, by run().
+                     */
+                    final DefaultActor<?, ?> next = reversed.link;
+                    reversed.link = null;
+                    runSafely(reversed);
+                    reversed = next;
+                }
+            }
+
+            private void runLocal ()
+            {
+                /**
+                 * Only run the actors that are already in the local run-queue,
+                 * so that actors, which keep re-scheduling each other on this lane,
+                 * cannot starve the actors in the remote run-queue.
+                 */
+                DefaultActor<?, ?> actor = localHead;
+                localHead = null;
+                localTail = null;
+                long count = 0;
+
+                while (actor != null)
+                {
+                    final DefaultActor<?, ?> next = actor.link;
+                    actor.link = null;
+                    runSafely(actor);
+                    actor = next;
+                    ++count;
+                }
+
+                localRunCount += count;
+            }
+
+            private static void runSafely (final DefaultActor<?, ?> actor)
+            {
+                try
+                {
+                    actor.run();
+                }
+                catch (Throwable ex)
+                {
+                    // Pass, because actors handle their own errors; therefore, this should never happen.
+                }
+            }
+        }
+    }
+
+    /**
+     * A <code>Stage</code> implementation based on a work-stealing pool of threads.
+     *
+     * <p>
+     * Each worker thread owns a double-ended queue of runnable actors.
+     * Whenever an actor sends a message to another actor on the same stage,
+     * the recipient is pushed onto the deque of the current worker thread,
+     * rather than onto a shared queue, which avoids waking another thread
+     * and keeps the message on the processor that produced the message.
+     * Meanwhile, idle worker threads steal actors from the deques of other workers.
+     * </p>
+     *
+     * <p>
+     * Each worker runs its own deque in FIFO order, so that an actor,
+     * which keeps re-scheduling itself, cannot starve the other actors
+     * that are waiting in the same deque.
+     * </p>
+     *
+     * <p>
+     * Actors that become runnable due to messages sent from outside
+     * of the stage are submitted to the shared submission queues.
+     * </p>
+     */
+    public static final class WorkStealingStage
+            extends AbstractStage
+    {
+        private final ForkJoinPool pool;
+
+        private WorkStealingStage (final int threadCount,
+                                   final boolean daemon)
+        {
+            if (threadCount < 1)
+            {
+                throw new IllegalArgumentException("threadCount < 1");
+            }
+
+            final ForkJoinPool.ForkJoinWorkerThreadFactory factory = (ForkJoinPool owner) ->
+            {
+                final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(owner)
+                {
+                    // Pass, because the constructor is protected.
+                };
+
+                thread.setDaemon(daemon);
+                return thread;
+            };
+
+            /**
+             * Async-Mode is enabled, so that each worker runs its local deque in FIFO order.
+             * In LIFO order, an actor that re-schedules itself would always be run next.
+             */
+            this.pool = new ForkJoinPool(threadCount, factory, null, true);
+        }
 
         /**
-         * Default Implementation of the <code>Actor.Builder</code> interface.
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onRunnable (final DefaultActor<?, ?> actor)
+        {
+            final Thread current = Thread.currentThread();
+
+            if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == pool)
+            {
+                if (pool.isShutdown())
+                {
+                    throw new RejectedExecutionException();
+                }
+
+                ForkJoinTask.adapt(actor).fork();
+            }
+            else
+            {
+                pool.execute(actor);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onClose ()
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A <code>Stage</code> implementation based on a pool of threads,
+     * which grows and shrinks, as needed, between a minimum and maximum size.
+     *
+     * <p>
+     * The stage measures the scheduling lag, which is the time from when an actor
+     * becomes runnable until when the actor actually starts running, and the
+     * utilization of the worker threads, which is the fraction of time that
+     * they spend running actors. Periodically, the stage uses the measurements
+     * in order to decide whether to add a worker, remove a worker, or do nothing.
+     * </p>
+     *
+     * <ul>
+     * <li>If the average lag exceeds the target lag, or the utilization exceeds 90%,
+     * then one worker is added, immediately.</li>
+     * <li>If the average lag is less than one-quarter of the target lag,
+     * and the utilization is less than 50%, for three consecutive periods,
+     * then one worker is removed.</li>
+     * <li>Otherwise, nothing changes.</li>
+     * </ul>
+     *
+     * <p>
+     * The gap between the thresholds for growing and shrinking, along with
+     * the requirement for consecutive periods before shrinking, provides
+     * hysteresis, so that the size of the pool does not oscillate.
+     * </p>
+     *
+     * <p>
+     * This stage uses the <code>meta</code> field of each actor.
+     * </p>
+     */
+    public static final class ElasticStage
+            extends AbstractStage
+    {
+        private static final double HIGH_UTILIZATION = 0.90;
+
+        private static final double LOW_UTILIZATION = 0.50;
+
+        private static final int SHRINK_PERIODS = 3;
+
+        private final ThreadPoolExecutor service;
+
+        private final int minThreads;
+
+        private final int maxThreads;
+
+        private final long targetLagNanos;
+
+        private final TimingWheel.Timeout controller;
+
+        private final LongAdder lagNanos = new LongAdder();
+
+        private final LongAdder runCount = new LongAdder();
+
+        private final LongAdder busyNanos = new LongAdder();
+
+        /**
+         * These fields are only written by the controller.
+         */
+        private long lastAdjustment = System.nanoTime();
+
+        private int quietPeriods = 0;
+
+        private volatile long lastLagNanos = 0;
+
+        private volatile double lastUtilization = 0;
+
+        private volatile long growCount = 0;
+
+        private volatile long shrinkCount = 0;
+
+        private ElasticStage (final int minThreads,
+                              final int maxThreads,
+                              final ThreadFactory factory,
+                              final Duration targetLag,
+                              final Duration period)
+        {
+            if (minThreads < 1)
+            {
+                throw new IllegalArgumentException("minThreads < 1");
+            }
+            else if (maxThreads < minThreads)
+            {
+                throw new IllegalArgumentException("maxThreads < minThreads");
+            }
+            else if (targetLag.isNegative() || targetLag.isZero())
+            {
+                throw new IllegalArgumentException("targetLag <= 0");
+            }
+            else if (period.isNegative() || period.isZero())
+            {
+                throw new IllegalArgumentException("period <= 0");
+            }
+
+            this.minThreads = minThreads;
+            this.maxThreads = maxThreads;
+            this.targetLagNanos = saturatedNanos(targetLag);
+
+            /**
+             * The queue is unbounded; therefore, the executor never creates more threads
+             * than the core size, which is how this stage controls the number of threads.
+             */
+            this.service = new ThreadPoolExecutor(minThreads, maxThreads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            this.service.allowCoreThreadTimeOut(false);
+
+            this.controller = TimingWheel.shared().scheduleAtFixedRate(this::safelyAdjust, period, period);
+        }
+
+        /**
+         * Get the number of worker threads that the stage currently intends to use.
          *
-         * @param <I> is the type of messages that the actor will consume.
-         * @param <O> is the type of messages that the actor will produce.
+         * @return the current target size of the pool.
          */
-        private final class DefaultActorBuilder<I, O>
-                implements Cascade.Stage.Actor.Builder<I, O>
+        public int size ()
         {
-            private final Mailbox<I> mailbox;
+            return service.getCorePoolSize();
+        }
+
+        /**
+         * Get the minimum number of worker threads.
+         *
+         * @return the minimum size of the pool.
+         */
+        public int minSize ()
+        {
+            return minThreads;
+        }
+
+        /**
+         * Get the maximum number of worker threads.
+         *
+         * @return the maximum size of the pool.
+         */
+        public int maxSize ()
+        {
+            return maxThreads;
+        }
+
+        /**
+         * Get the average scheduling lag that was measured in the most recent period.
+         *
+         * @return the average lag, in nanoseconds.
+         */
+        public long lastLagNanos ()
+        {
+            return lastLagNanos;
+        }
+
+        /**
+         * Get the utilization of the workers that was measured in the most recent period.
+         *
+         * @return the utilization, usually between zero and one.
+         */
+        public double lastUtilization ()
+        {
+            return lastUtilization;
+        }
+
+        /**
+         * Get the number of times that the stage decided to add a worker.
+         *
+         * @return the number of decisions to grow, thus far.
+         */
+        public long growCount ()
+        {
+            return growCount;
+        }
+
+        /**
+         * Get the number of times that the stage decided to remove a worker.
+         *
+         * @return the number of decisions to shrink, thus far.
+         */
+        public long shrinkCount ()
+        {
+            return shrinkCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onRunnable (final DefaultActor<?, ?> actor)
+        {
+            /**
+             * The stage never invokes this method concurrently for the same actor,
+             * nor while the actor is running; therefore, the task can be reused.
+             */
+            Task task = (Task) actor.meta();
+
+            if (task == null)
+            {
+                task = new Task(actor);
+                actor.meta(task);
+            }
+
+            task.scheduledAt = System.nanoTime();
+            service.execute(task);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void onClose ()
+        {
+            controller.cancel();
+            service.shutdown();
+        }
+
+        /**
+         * This method is periodically invoked by the shared timing-wheel
+         * in order to decide whether to resize the pool.
+         */
+        private void safelyAdjust ()
+        {
+            /**
+             * A failed adjustment, such as when the thread factory fails,
+             * is not worth reporting, since the next period will simply try again.
+             */
+            try
+            {
+                adjust();
+            }
+            catch (Throwable ex)
+            {
+                // Pass, because the next period will simply try again.
+            }
+        }
+
+        private void adjust ()
+        {
+            final long now = System.nanoTime();
+            final long elapsed = Math.max(1, now - lastAdjustment);
+            lastAdjustment = now;
+
+            final long runs = runCount.sumThenReset();
+            final long lag = lagNanos.sumThenReset();
+            final long busy = busyNanos.sumThenReset();
+            final int current = service.getCorePoolSize();
+
+            /**
+             * Runnable actors, which have not started running yet,
+             * are also lagging, even though their lag is not yet measured.
+             */
+            final long waiting = service.getQueue().size();
+            final long averageLag = runs == 0 ? (waiting == 0 ? 0 : elapsed) : lag / runs;
+            final double utilization = (double) busy / ((double) elapsed * current);
+
+            lastLagNanos = averageLag;
+            lastUtilization = utilization;
+
+            if (averageLag > targetLagNanos || utilization > HIGH_UTILIZATION)
+            {
+                quietPeriods = 0;
+
+                /**
+                 * The counters are incremented before resizing, so that anyone,
+                 * who observes the new size, also observes the updated counters.
+                 */
+                if (current < maxThreads)
+                {
+                    ++growCount;
+                    resize(current + 1);
+                }
+            }
+            else if (averageLag < targetLagNanos / 4 && utilization < LOW_UTILIZATION)
+            {
+                if (++quietPeriods >= SHRINK_PERIODS && current > minThreads)
+                {
+                    quietPeriods = 0;
+                    ++shrinkCount;
+                    resize(current - 1);
+                }
+            }
+            else
+            {
+                quietPeriods = 0;
+            }
+        }
+
+        private void resize (final int size)
+        {
+            /**
+             * Excess threads die, after they finish their current tasks and become idle.
+             */
+            service.setCorePoolSize(size);
+            service.prestartAllCoreThreads();
+        }
+
+        /**
+         * Runs an actor, while measuring the scheduling lag and the time spent running.
+         */
+        private final class Task
+                implements Runnable
+        {
+            private final DefaultActor<?, ?> actor;
+
+            private long scheduledAt;
+
+            private Task (final DefaultActor<?, ?> actor)
+            {
+                this.actor = actor;
+            }
+
+            @Override
+            public void run ()
+            {
+                final long start = System.nanoTime();
+                lagNanos.add(start - scheduledAt);
+                runCount.increment();
+
+                try
+                {
+                    actor.run();
+                }
+                finally
+                {
+                    busyNanos.add(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * A hierarchical hashed timing-wheel, which executes small tasks after delays.
+     *
+     * <p>
+     * Unlike a <code>ScheduledExecutorService</code>, whose heap-based queue
+     * requires O(log n) time per operation under a global lock,
+     * scheduling and cancelling a timeout only require O(1) time and
+     * a single lock-free enqueue. Thus, the timing-wheel can efficiently
+     * manage millions of outstanding timeouts, most of which are
+     * typically cancelled before they expire.
+     * </p>
+     *
+     * <p>
+     * The wheel consists of several levels, each of which is an array of
+     * (64) buckets of timeouts. Each bucket on the lowest level covers one tick.
+     * Each bucket on the next level covers an entire rotation of the lower level.
+     * Whenever a lower level completes a rotation, the timeouts in the
+     * corresponding bucket of the next level are redistributed into the lower levels.
+     * Consequently, each timeout is moved at most once per level.
+     * </p>
+     *
+     * <p>
+     * A single thread advances the wheel, one tick at a time, and then executes
+     * the tasks whose timeouts have expired. Therefore, the tasks must be brief
+     * and must not block, such as sending a message to an actor.
+     * While any timeouts are outstanding, the thread wakes once per tick;
+     * otherwise, the thread parks until a timeout is scheduled.
+     * Timeouts expire no earlier than requested, but up to two ticks later.
+     * If a task throws an exception, then the exception is passed to the
+     * uncaught-exception handler of the thread, which keeps running.
+     * </p>
+     */
+    public static final class TimingWheel
+            implements AutoCloseable
+    {
+        /**
+         * A task that was scheduled to execute after a delay.
+         */
+        public interface Timeout
+        {
+            /**
+             * Cancel this timeout, so that the task will not execute again.
+             *
+             * @return true, if the timeout was cancelled by this invocation,
+             * or false, if the timeout already expired or was already cancelled.
+             */
+            public boolean cancel ();
+
+            /**
+             * Determine whether this timeout was cancelled.
+             *
+             * @return true, only if the timeout was cancelled.
+             */
+            public boolean isCancelled ();
+
+            /**
+             * Determine whether the task executed, and will not execute again.
+             *
+             * @return true, only if this is a one-shot timeout, whose task executed.
+             */
+            public boolean isExpired ();
+        }
+
+        private static final int SLOT_BITS = 6;
+
+        private static final int SLOTS = 1 << SLOT_BITS;
+
+        private static final int LEVELS = 5;
+
+        private static final int PENDING = 0;
+
+        private static final int EXPIRED = 1;
+
+        private static final int CANCELLED = 2;
+
+        private static final VarHandle NODE_STATE;
+
+        static
+        {
+            try
+            {
+                NODE_STATE = MethodHandles.lookup().findVarHandle(Node.class, "state", int.class);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        /**
+         * This is the timing-wheel that is shared by all stages.
+         * The thread is only started when the timing-wheel is first needed.
+         */
+        private static final class Shared
+        {
+            private static final TimingWheel WHEEL = new TimingWheel(TimeUnit.MILLISECONDS.toNanos(1), "cascade-timing-wheel");
+        }
+
+        private final long tickNanos;
+
+        private final long origin = System.nanoTime();
+
+        private final Thread thread;
 
-            private final ContextScript<I, O> script;
+        /**
+         * Other threads hand new and cancelled timeouts to the wheel thread via these queues,
+         * since only the wheel thread ever touches the buckets.
+         */
+        private final Queue<Node> insertions = new ConcurrentLinkedQueue<>();
 
-            private final ContextErrorHandler<I, O> errorHandler;
+        private final Queue<Node> cancellations = new ConcurrentLinkedQueue<>();
 
-            private DefaultActorBuilder ()
-            {
-                this.mailbox = ConcurrentLinkedQueueMailbox.create();
+        private final LongAdder outstanding = new LongAdder();
 
-                this.script = (context, message) ->
-                {
-                    // Pass.
-                };
+        private final Node[] buckets = new Node[LEVELS * SLOTS];
 
-                this.errorHandler = (context, message, cause) ->
-                {
-                    // Pass.
-                };
-            }
+        /**
+         * These fields are only accessed by the wheel thread.
+         */
+        private long currentTick = 0;
 
-            private DefaultActorBuilder (final Mailbox<I> mailbox,
-                                         final ContextScript<I, O> script,
-                                         final ContextErrorHandler<I, O> errorHandler)
-            {
-                this.mailbox = mailbox;
-                this.script = script;
-                this.errorHandler = errorHandler;
-            }
+        private long size = 0;
 
-            @Override
-            public <X, Y> Actor.Builder<X, Y> withContextScript (final Stage.Actor.ContextScript<X, Y> script)
-            {
-                Objects.requireNonNull(script, "script");
-                return new DefaultActorBuilder(mailbox, script, errorHandler);
-            }
+        /**
+         * This flag is true, whenever the wheel thread may be parked indefinitely.
+         */
+        private volatile boolean sleeping = false;
 
-            @Override
-            public Actor.Builder<I, O> withContextErrorHandler (final ContextErrorHandler<I, O> handler)
-            {
-                Objects.requireNonNull(handler, "handler");
+        private volatile boolean closed = false;
 
-                /**
-                 * Combine the given handler and any previously defined handlers.
-                 * Execute each of the handlers in sequence, even if one fails.
-                 * If any handler throws an exception, simply ignore it.
-                 * In general, an error-handler should not cause an error itself.
-                 */
-                final ContextErrorHandler<I, O> combined = errorHandler.andThen(handler);
-                return new DefaultActorBuilder(mailbox, script, combined);
-            }
+        private TimingWheel (final long tickNanos,
+                             final String name)
+        {
+            this.tickNanos = tickNanos;
+            this.thread = new Thread(() -> AbstractStage.InlineFrame.runAsTimer(this::run), name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
 
-            @Override
-            public Actor.Builder<I, O> withMailbox (final Mailbox<I> mailbox)
-            {
-                Objects.requireNonNull(mailbox, "mailbox");
-                return new DefaultActorBuilder(mailbox, script, errorHandler);
-            }
+        /**
+         * Get the timing-wheel that is shared by all stages,
+         * which has a resolution of one millisecond.
+         *
+         * @return the shared timing-wheel.
+         */
+        public static TimingWheel shared ()
+        {
+            return Shared.WHEEL;
+        }
 
-            @Override
-            public Actor<I, O> create ()
+        /**
+         * Create a new timing-wheel, which is powered by its own daemon thread.
+         *
+         * @param tick is the resolution of the timing-wheel.
+         * @return the new timing-wheel.
+         */
+        public static TimingWheel create (final Duration tick)
+        {
+            Objects.requireNonNull(tick, "tick");
+
+            if (tick.isNegative() || tick.isZero())
             {
-                final DefaultActor<I, O> actor = new DefaultActor<>(this);
-                return actor;
+                throw new IllegalArgumentException("tick <= 0");
             }
+
+            return new TimingWheel(saturatedNanos(tick), "cascade-timing-wheel");
         }
 
         /**
-         * Default Actor Implementation.
+         * Execute a task once, after a delay.
+         *
+         * @param task will be executed by the thread of the timing-wheel.
+         * @param delay is the minimum amount of time to wait before executing the task.
+         * @return an object that can be used to cancel the task.
+         */
+        public Timeout schedule (final Runnable task,
+                                 final Duration delay)
+        {
+            Objects.requireNonNull(task, "task");
+            Objects.requireNonNull(delay, "delay");
+            return add(new Node(task, deadlineOf(delay), 0));
+        }
+
+        /**
+         * Execute a task periodically, until cancelled.
          *
          * <p>
-         * A (meta) object is stored herein, which is intended
-         * for use by implementing sub-classes, so that they
-         * can store actor specific information.
+         * If the wheel falls behind, then the missed executions are skipped,
+         * rather than executed in a burst.
          * </p>
          *
-         * @param <I> is the type of the messages incoming to the actor.
-         * @param <O> is the type of the messages outgoing from the actor.
+         * @param task will be executed by the thread of the timing-wheel.
+         * @param initialDelay is the minimum amount of time to wait before the first execution.
+         * @param period is the amount of time between the subsequent executions.
+         * @return an object that can be used to cancel the task.
          */
-        public final class DefaultActor<I, O>
-                implements Cascade.Stage.Actor<I, O>,
-                           Runnable
+        public Timeout scheduleAtFixedRate (final Runnable task,
+                                            final Duration initialDelay,
+                                            final Duration period)
         {
-            /**
-             * This reference just makes 'this' more explicit in
-             * order to avoid confusion caused by nested classes.
-             */
-            private final DefaultActor<I, O> ACTOR = this;
-
-            /**
-             * This mailbox stores the backlog of messages that
-             * need to be processed by this actor one at a time.
-             */
-            private final Mailbox<I> mailbox;
-
-            /**
-             * This script will be used to process those messages.
-             */
-            private final ContextScript<I, O> script;
+            Objects.requireNonNull(task, "task");
+            Objects.requireNonNull(initialDelay, "initialDelay");
+            Objects.requireNonNull(period, "period");
 
-            /**
-             * If that script throws an unhandled exception,
-             * then this error-handler will be invoked in
-             * order to handle the exception.
-             */
-            private final ContextErrorHandler<I, O> errorHandler;
+            if (period.isNegative() || period.isZero())
+            {
+                throw new IllegalArgumentException("period <= 0");
+            }
 
-            /**
-             * This object provides the ability to send messages to
-             * and from this actor and will be passed-in to the script.
-             */
-            private final DefaultContext context = new DefaultContext();
+            final long periodTicks = Math.max(1, saturatedNanos(period) / tickNanos);
+            return add(new Node(task, deadlineOf(initialDelay), periodTicks));
+        }
 
-            /**
-             * This object provides the input-connector API and wraps the mailbox.
-             */
-            private final DefaultInput input = new DefaultInput();
+        /**
+         * Get the number of timeouts that have neither expired nor been cancelled.
+         *
+         * @return the number of outstanding timeouts.
+         */
+        public long outstanding ()
+        {
+            return outstanding.sum();
+        }
 
-            /**
-             * This object provides the output-connector API.
-             */
-            private final DefaultOutput output = new DefaultOutput();
+        /**
+         * Stop the thread of this timing-wheel, abandoning all outstanding timeouts.
+         *
+         * <p>
+         * The shared timing-wheel cannot be closed.
+         * </p>
+         */
+        @Override
+        public void close ()
+        {
+            if (this == Shared.WHEEL)
+            {
+                throw new UnsupportedOperationException("shared");
+            }
 
-            /**
-             * This is the number of messages that are in the mailbox.
-             */
-            private final AtomicLong pendingCranks = new AtomicLong();
+            closed = true;
+            LockSupport.unpark(thread);
+        }
 
+        private long deadlineOf (final Duration delay)
+        {
             /**
-             * This flag is simply used as a sanity check to detect bugs,
-             * if the run() method is executed concurrently; therefore,
-             * this may be removed at some point in the future.
+             * Round up, so that timeouts never expire early.
              */
-            private final AtomicBoolean inProgress = new AtomicBoolean(false);
+            final long nanos = Math.max(0, saturatedNanos(delay));
+            final long elapsed = System.nanoTime() - origin;
+            final long ticks = nanos / tickNanos + (nanos % tickNanos == 0 ? 0 : 1);
+            final long deadline = elapsed / tickNanos + 1 + ticks;
+            return deadline < 0 ? Long.MAX_VALUE : deadline;
+        }
 
-            /**
-             * This field can be used by custom stage implementations
-             * to store implementation-specific information.
-             */
-            private volatile Object meta = null;
+        private Timeout add (final Node node)
+        {
+            outstanding.increment();
+            insertions.add(node);
 
-            private DefaultActor (final DefaultActorBuilder<I, O> builder)
+            if (sleeping)
             {
-                this.errorHandler = builder.errorHandler;
-                this.mailbox = builder.mailbox;
-                this.script = builder.script;
+                LockSupport.unpark(thread);
             }
 
-            @Override
-            public void run ()
+            return node;
+        }
+
+        private void run ()
+        {
+            while (closed == false)
             {
-                if (inProgress.compareAndSet(false, true) == false)
+                drainCancellations();
+                drainInsertions();
+
+                final long targetTick = (System.nanoTime() - origin) / tickNanos;
+
+                if (size == 0)
                 {
                     /**
-                     * This should never actually happen, period; however, the likely cause is either:
-                     * (1) the AbstractStage implementation called run() twice for one onRunnable() call,
-                     * (2) the scheduling algorithm in this class is fundamentally broken.
-                     * In the case of custom stages, case (1) is the most likely cause.
+                     * Nothing is in the wheel; therefore, there is no need to tick
+                     * through the intervening buckets, once the wheel is needed again.
                      */
-                    throw new IllegalStateException("concurrent run()");
-                }
-
-                I message = null;
+                    currentTick = Math.max(currentTick, targetTick);
 
-                try
-                {
                     /**
-                     * Pull the next message from the mailbox and
-                     * then process the message using the script.
+                     * Announce that we are sleeping, but then re-check the queue,
+                     * before actually parking, in order to avoid lost wake-ups.
                      */
-                    message = mailbox.poll();
+                    sleeping = true;
 
-                    if (message != null)
+                    if (insertions.isEmpty() && closed == false)
                     {
-                        script.onInput(context, message);
+                        LockSupport.park(this);
                     }
+
+                    sleeping = false;
+                    continue;
                 }
-                catch (Throwable cause)
-                {
-                    /**
-                     * Invoke the error-handler given the message and exception,
-                     * but do not allow the error-handler to throw an exception.
-                     * If the poll() threw the exception, then the message is null.
-                     */
-                    handleException(message, cause);
-                }
-                finally
+
+                while (currentTick < targetTick)
                 {
-                    /**
-                     * Now that the processing of the message is complete,
-                     * go ahead and schedule the next message, if any.
-                     */
-                    inProgress.set(false);
-                    scheduleSubsequentMessage();
+                    advance();
                 }
+
+                final long nextTickAt = origin + (currentTick + 1) * tickNanos;
+                LockSupport.parkNanos(this, nextTickAt - System.nanoTime());
             }
+        }
 
-            private void handleException (final I message,
-                                          final Throwable cause)
+        private void drainInsertions ()
+        {
+            for (Node node = insertions.poll(); node != null; node = insertions.poll())
             {
-                try
+                if ((int) NODE_STATE.getVolatile(node) == PENDING)
                 {
-                    errorHandler.onError(context, message, cause);
+                    insert(node);
                 }
-                catch (Throwable ignored)
+            }
+        }
+
+        private void drainCancellations ()
+        {
+            for (Node node = cancellations.poll(); node != null; node = cancellations.poll())
+            {
+                if (node.bucket >= 0)
                 {
-                    // Pass, because errors from error-handlers cannot be reasonably handled.
+                    unlink(node);
                 }
             }
+        }
 
-            private void scheduleInitialMessage ()
+        /**
+         * Move the wheel forward by one tick, expiring and redistributing timeouts, as needed.
+         */
+        private void advance ()
+        {
+            ++currentTick;
+
+            /**
+             * Whenever a level completes a rotation, redistribute the next bucket of the level above it.
+             * The higher levels must be redistributed first, since their timeouts may cascade
+             * all the way down into the bucket of the lowest level that is about to expire.
+             */
+            int levels = 1;
+
+            while (levels < LEVELS && (currentTick & ((1L << (SLOT_BITS * levels)) - 1)) == 0)
+            {
+                ++levels;
+            }
+
+            for (int level = levels - 1; level >= 1; level--)
             {
-                if (pendingCranks.incrementAndGet() == 1)
+                final int index = level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                Node node = detach(index);
+
+                while (node != null)
                 {
-                    safelySchedule(ACTOR);
+                    final Node next = node.next;
+                    node.next = null;
+                    insert(node);
+                    node = next;
                 }
             }
 
-            private void scheduleSubsequentMessage ()
+            Node node = detach((int) (currentTick & (SLOTS - 1)));
+
+            while (node != null)
+            {
+                final Node next = node.next;
+                node.next = null;
+                expire(node);
+                node = next;
+            }
+        }
+
+        private void expire (final Node node)
+        {
+            final boolean periodic = node.periodTicks > 0;
+
+            if (periodic ? (int) NODE_STATE.getVolatile(node) == PENDING : NODE_STATE.compareAndSet(node, PENDING, EXPIRED))
             {
-                if (pendingCranks.decrementAndGet() != 0)
+                try
                 {
-                    safelySchedule(ACTOR);
+                    node.task.run();
+                }
+                catch (Throwable ex)
+                {
+                    report(ex);
+                }
+
+                if (periodic && (int) NODE_STATE.getVolatile(node) == PENDING)
+                {
+                    node.deadline = Math.max(node.deadline + node.periodTicks, currentTick + 1);
+                    insert(node);
+                }
+                else if (periodic == false)
+                {
+                    outstanding.decrement();
                 }
             }
+        }
 
-            @Override
-            public Stage stage ()
+        /**
+         * Hand an exception thrown by a task to the uncaught-exception handler of the wheel thread,
+         * which prints the stack-trace, by default, so that the exception is not silently lost.
+         * The wheel thread itself must keep running; therefore, the exception is not rethrown.
+         */
+        private void report (final Throwable cause)
+        {
+            try
             {
-                return STAGE;
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, cause);
             }
+            catch (Throwable ex)
+            {
+                // Pass, because the handler itself failed; therefore, there is nowhere else to report it.
+            }
+        }
 
-            @Override
-            public Context<I, O> context ()
+        /**
+         * Add a timeout to the appropriate bucket, or expire it now, if it is already due.
+         */
+        private void insert (final Node node)
+        {
+            final long delta = node.deadline - currentTick;
+
+            if (delta <= 0)
             {
-                return context;
+                expire(node);
+                return;
             }
 
-            @Override
-            public Input<I> input ()
+            int level = 0;
+
+            while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1))))
+            {
+                ++level;
+            }
+
+            /**
+             * Timeouts too far in the future for the highest level are placed into the bucket
+             * that will be redistributed last, whereupon they will simply be re-inserted.
+             */
+            final long shift = SLOT_BITS * level;
+            final boolean tooFar = delta >= (1L << (shift + SLOT_BITS));
+            final long slot = tooFar ? (currentTick >>> shift) - 1 : node.deadline >>> shift;
+            final int index = level * SLOTS + (int) (slot & (SLOTS - 1));
+
+            node.bucket = index;
+            node.prev = null;
+            node.next = buckets[index];
+
+            if (node.next != null)
+            {
+                node.next.prev = node;
+            }
+
+            buckets[index] = node;
+            ++size;
+        }
+
+        private Node detach (final int index)
+        {
+            final Node head = buckets[index];
+            buckets[index] = null;
+
+            for (Node node = head; node != null; node = node.next)
             {
-                return input;
+                node.bucket = -1;
+                node.prev = null;
+                --size;
             }
 
-            @Override
-            public Output<O> output ()
+            return head;
+        }
+
+        private void unlink (final Node node)
+        {
+            if (node.prev == null)
             {
-                return output;
+                buckets[node.bucket] = node.next;
             }
-
-            public Object meta ()
+            else
             {
-                return meta;
+                node.prev.next = node.next;
             }
 
-            public void meta (final Object value)
+            if (node.next != null)
             {
-                meta = value;
+                node.next.prev = node.prev;
             }
 
-            private final class DefaultContext
-                    implements Context<I, O>
-            {
-                @Override
-                public Actor<I, O> actor ()
-                {
-                    return ACTOR;
-                }
+            node.bucket = -1;
+            node.prev = null;
+            node.next = null;
+            --size;
+        }
 
-                @Override
-                public boolean offerFrom (final O message)
-                {
-                    boolean sentToAll = true;
+        /**
+         * A timeout, which is also a node in the doubly-linked list of a bucket.
+         */
+        private final class Node
+                implements Timeout
+        {
+            private final Runnable task;
 
-                    if (message != null)
-                    {
-                        final List<Input<O>> outputs = output.connectionList;
-                        final int length = outputs.size();
+            private final long periodTicks;
 
-                        // Using for instead of for-each avoids creating an iterator object.
-                        for (int i = 0; i < length; i++)
-                        {
-                            sentToAll &= outputs.get(i).offer(message);
-                        }
-                    }
+            private volatile int state = PENDING;
 
-                    return sentToAll;
-                }
+            /**
+             * These fields are only accessed by the wheel thread.
+             */
+            private long deadline;
 
-                @Override
-                public boolean offerTo (final I message)
-                {
-                    Objects.requireNonNull(message, "message");
+            private int bucket = -1;
 
-                    if (mailbox.offer(message))
-                    {
-                        scheduleInitialMessage();
-                        return true;
-                    }
-                    else
-                    {
-                        return false;
-                    }
-                }
-            };
+            private Node prev;
 
-            /**
-             * Default Implementation of <code>Actor.Input</code>.
-             */
-            private final class DefaultInput
-                    implements Actor.Input<I>
+            private Node next;
+
+            private Node (final Runnable task,
+                          final long deadline,
+                          final long periodTicks)
             {
-                @Override
-                public Actor<I, ?> actor ()
+                this.task = task;
+                this.deadline = deadline;
+                this.periodTicks = periodTicks;
+            }
+
+            @Override
+            public boolean cancel ()
+            {
+                if (NODE_STATE.compareAndSet(this, PENDING, CANCELLED))
                 {
-                    return ACTOR;
+                    outstanding.decrement();
+                    cancellations.add(this);
+                    return true;
+                }
+                else
+                {
+                    return false;
                 }
             }
 
-            /**
-             * Default Implementation of <code>Actor.Output</code>.
-             */
-            private final class DefaultOutput
-                    implements Actor.Output<O>
+            @Override
+            public boolean isCancelled ()
             {
-                /**
-                 * This lock is used to prevent concurrent connections and disconnections;
-                 * however, this lock is not in the critical-path of message processing.
-                 */
-                private final Object outputLock = new Object();
+                return state == CANCELLED;
+            }
 
-                /**
-                 * This is an immutable list containing the inputs that this output is connected to.
-                 */
-                private volatile List<Input<O>> connectionList = newImmutableList(Collections.EMPTY_LIST);
+            @Override
+            public boolean isExpired ()
+            {
+                return state == EXPIRED;
+            }
+        }
+    }
 
-                @Override
-                public Actor<?, O> actor ()
-                {
-                    return ACTOR;
-                }
+    /**
+     * Remove a batch of messages from a queue using a single invocation of <code>drainTo()</code>,
+     * which only acquires the lock of the queue once, and then pass them to a consumer.
+     */
+    private static <I> int drainBatch (final BlockingQueue<I> queue,
+                                       final List<I> buffer,
+                                       final Consumer<? super I> consumer,
+                                       final int max)
+    {
+        Objects.requireNonNull(consumer, "consumer");
 
-                @Override
-                public Output<O> connect (final Stage.Actor.Input<O> input)
-                {
-                    Objects.requireNonNull(input, "input");
+        if (max <= 0)
+        {
+            return 0;
+        }
+        else if (max == 1)
+        {
+            final I message = queue.poll();
 
-                    synchronized (outputLock)
-                    {
-                        if (isConnected(input) == false)
-                        {
-                            final List<Input<O>> modified = new ArrayList<>(connectionList);
-                            modified.add(input);
-                            connectionList = newImmutableList(modified);
-                        }
-                    }
+            if (message == null)
+            {
+                return 0;
+            }
 
-                    return this;
-                }
+            consumer.accept(message);
+            return 1;
+        }
 
-                @Override
-                public Output<O> disconnect (final Stage.Actor.Input<O> input)
-                {
-                    Objects.requireNonNull(input, "input");
+        queue.drainTo(buffer, max);
+        return deliverBatch(buffer, consumer);
+    }
 
-                    synchronized (outputLock)
-                    {
-                        if (isConnected(input))
-                        {
-                            final List<Input<O>> modified = new ArrayList<>(connectionList);
-                            modified.remove(input);
-                            connectionList = newImmutableList(modified);
-                        }
-                    }
+    private static long saturatedNanos (final Duration duration)
+    {
+        try
+        {
+            return duration.toNanos();
+        }
+        catch (ArithmeticException ex)
+        {
+            return Long.MAX_VALUE;
+        }
+    }
 
-                    return this;
-                }
+    private static <I> int deliverBatch (final List<I> batch,
+                                         final Consumer<? super I> consumer)
+    {
+        final int count = batch.size();
 
-                @Override
-                public boolean isConnected (final Input<?> input)
-                {
-                    return connectionList.contains(input);
-                }
+        try
+        {
+            // Using for instead of for-each avoids creating an iterator object.
+            for (int i = 0; i < count; i++)
+            {
+                consumer.accept(batch.get(i));
             }
         }
-
-        private static <T> List<T> newImmutableList (final Collection<T> collection)
+        finally
         {
-            return List.copyOf(collection);
+            /**
+             * The list is reused by the next batch; moreover, if the consumer threw,
+             * then the rest of the batch is dropped, as permitted by drain().
+             */
+            batch.clear();
         }
+
+        return count;
     }
 
     /**
@@ -1625,6 +7826,188 @@ public interface Cascade
         return newStage(service);
     }
 
+    /**
+     * Create a new stage based on a fixed set of event-loop threads,
+     * which park whenever they have no work to do.
+     *
+     * @param threadCount is the number of worker threads that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @return the new stage.
+     * @see EventLoopStage
+     */
+    public static Stage newEventLoopStage (final int threadCount,
+                                           final boolean daemon)
+    {
+        return newEventLoopStage(threadCount, daemon, IdleStrategy.blocking());
+    }
+
+    /**
+     * Create a new stage based on a fixed set of event-loop threads.
+     *
+     * <p>
+     * This is the low-latency mode of operation. For example, an event-loop stage,
+     * whose worker threads use a <code>busySpin()</code> or <code>backoff()</code>
+     * idle-strategy, avoids the cost of parking and unparking threads,
+     * which may be larger than the cost of the work itself.
+     * </p>
+     *
+     * @param threadCount is the number of worker threads that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @param strategy determines how the threads behave, when they have no work to do.
+     * @return the new stage.
+     * @see EventLoopStage
+     */
+    public static Stage newEventLoopStage (final int threadCount,
+                                           final boolean daemon,
+                                           final IdleStrategy strategy)
+    {
+        Objects.requireNonNull(strategy, "strategy");
+
+        final ThreadFactory factory = (Runnable task) ->
+        {
+            final Thread thread = new Thread(task);
+            thread.setDaemon(daemon);
+            return thread;
+        };
+
+        return new EventLoopStage(threadCount, factory, strategy);
+    }
+
+    /**
+     * Create a new stage based on a fixed set of single-threaded lanes.
+     *
+     * <p>
+     * Use <code>newActor(lane)</code> or <code>newActorByKey(key)</code>
+     * in order to pin actors to specific lanes.
+     * </p>
+     *
+     * @param laneCount is the number of lanes (worker threads) that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @return the new stage.
+     * @see EventLoopStage
+     */
+    public static EventLoopStage newShardedStage (final int laneCount,
+                                                  final boolean daemon)
+    {
+        return (EventLoopStage) newEventLoopStage(laneCount, daemon);
+    }
+
+    /**
+     * Create a new stage based on a work-stealing pool of threads.
+     *
+     * @param threadCount is the number of worker threads that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @return the new stage.
+     * @see WorkStealingStage
+     */
+    public static Stage newWorkStealingStage (final int threadCount,
+                                              final boolean daemon)
+    {
+        return new WorkStealingStage(threadCount, daemon);
+    }
+
+    /**
+     * Create a new stage based on a pool of threads, which grows and shrinks as needed,
+     * targeting a scheduling lag of one millisecond, and re-evaluating every 100 milliseconds.
+     *
+     * @param minThreads is the minimum number of worker threads that the stage will use.
+     * @param maxThreads is the maximum number of worker threads that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @return the new stage.
+     * @see ElasticStage
+     */
+    public static ElasticStage newElasticStage (final int minThreads,
+                                                final int maxThreads,
+                                                final boolean daemon)
+    {
+        return newElasticStage(minThreads, maxThreads, daemon, Duration.ofMillis(1), Duration.ofMillis(100));
+    }
+
+    /**
+     * Create a new stage based on a pool of threads, which grows and shrinks as needed.
+     *
+     * @param minThreads is the minimum number of worker threads that the stage will use.
+     * @param maxThreads is the maximum number of worker threads that the stage will use.
+     * @param daemon is true, if the threads will be daemon threads.
+     * @param targetLag is the maximum acceptable average scheduling lag.
+     * @param period is how often the stage will decide whether to resize itself.
+     * @return the new stage.
+     * @see ElasticStage
+     */
+    public static ElasticStage newElasticStage (final int minThreads,
+                                                final int maxThreads,
+                                                final boolean daemon,
+                                                final Duration targetLag,
+                                                final Duration period)
+    {
+        Objects.requireNonNull(targetLag, "targetLag");
+        Objects.requireNonNull(period, "period");
+
+        final ThreadFactory factory = (Runnable task) ->
+        {
+            final Thread thread = new Thread(task);
+            thread.setDaemon(daemon);
+            return thread;
+        };
+
+        return new ElasticStage(minThreads, maxThreads, factory, targetLag, period);
+    }
+
+    /**
+     * Create a new stage that runs each execution of each actor on a new virtual thread.
+     *
+     * <p>
+     * This type of stage is intended for actors whose scripts perform blocking operations,
+     * such as JDBC calls or file I/O, since a blocked virtual thread does not tie-up
+     * an operating-system thread. Thus, there is no need to over-size a pool
+     * of platform threads merely in order to tolerate blocking.
+     * </p>
+     *
+     * <p>
+     * Virtual threads require Java 21, or later; however, this library
+     * is compiled for older Java versions. Therefore, the virtual-thread
+     * executor is located reflectively, at runtime, when this method is invoked.
+     * </p>
+     *
+     * <p>
+     * <b>Pinning:</b> A virtual thread that blocks while holding a monitor
+     * (<code>synchronized</code>) pins its carrier thread, on Java versions prior to 24.
+     * The <code>ArrayDequeMailbox</code> and <code>CircularArrayDequeMailbox</code>
+     * use monitors; however, they never block while holding them,
+     * so the pinning is brief and harmless. Likewise, the mailboxes based on
+     * <code>java.util.concurrent</code> queues use <code>ReentrantLock</code>s,
+     * which do not pin. Rather, pinning is a concern when a script
+     * itself blocks inside of a <code>synchronized</code> block,
+     * in which case, a <code>ReentrantLock</code> should be used instead.
+     * </p>
+     *
+     * @return the new stage.
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads.
+     */
+    public static Stage newVirtualStage ()
+    {
+        final ExecutorService service;
+
+        try
+        {
+            final MethodHandle factory = MethodHandles
+                    .publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+
+            service = (ExecutorService) factory.invoke();
+        }
+        catch (NoSuchMethodException | IllegalAccessException ex)
+        {
+            throw new UnsupportedOperationException("virtual threads require Java 21 or later", ex);
+        }
+        catch (Throwable ex)
+        {
+            throw new UnsupportedOperationException("virtual threads are unavailable", ex);
+        }
+
+        return newStage(service);
+    }
+
     /**
      * Create a new stage based on a given <code>ExecutorService</code>.
      *
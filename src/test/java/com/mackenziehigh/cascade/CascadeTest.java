@@ -19,11 +19,25 @@ import com.mackenziehigh.cascade.Cascade.AbstractStage;
 import com.mackenziehigh.cascade.Cascade.AbstractStage.DefaultActor;
 import com.mackenziehigh.cascade.Cascade.ArrayBlockingQueueMailbox;
 import com.mackenziehigh.cascade.Cascade.ArrayDequeMailbox;
+import com.mackenziehigh.cascade.Cascade.CircularArrayDequeMailbox;
 import com.mackenziehigh.cascade.Cascade.ConcurrentLinkedQueueMailbox;
+import com.mackenziehigh.cascade.Cascade.ConflatingMailbox;
+import com.mackenziehigh.cascade.Cascade.DeduplicatingMailbox;
+import com.mackenziehigh.cascade.Cascade.ElasticStage;
+import com.mackenziehigh.cascade.Cascade.EventLoopStage;
+import com.mackenziehigh.cascade.Cascade.ExpiringMailbox;
+import com.mackenziehigh.cascade.Cascade.IdleStrategy;
 import com.mackenziehigh.cascade.Cascade.LinkedBlockingQueueMailbox;
+import com.mackenziehigh.cascade.Cascade.MpscArrayMailbox;
+import com.mackenziehigh.cascade.Cascade.MpscChunkedMailbox;
+import com.mackenziehigh.cascade.Cascade.OverloadPolicy;
+import com.mackenziehigh.cascade.Cascade.OverwritingArrayMailbox;
 import com.mackenziehigh.cascade.Cascade.PriorityBlockingQueueMailbox;
+import com.mackenziehigh.cascade.Cascade.PriorityLaneMailbox;
+import com.mackenziehigh.cascade.Cascade.SpscArrayMailbox;
 import com.mackenziehigh.cascade.Cascade.Stage;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor;
+import com.mackenziehigh.cascade.Cascade.Stage.Actor.BatchScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ConsumerErrorHandler;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ConsumerScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.Context;
@@ -31,27 +45,41 @@ import com.mackenziehigh.cascade.Cascade.Stage.Actor.ContextErrorHandler;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.ContextScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.FunctionScript;
 import com.mackenziehigh.cascade.Cascade.Stage.Actor.Mailbox;
+import com.mackenziehigh.cascade.Cascade.TimingWheel;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 import static org.junit.Assert.*;
 import org.junit.Test;
@@ -2370,9 +2398,4417 @@ public final class CascadeTest
     public void test20190606235343993069 ()
             throws Exception
     {
-        final Actor.Builder actor = stage.newActor();
+        /**
+         * The default mailbox is created along with the actor, rather than the builder.
+         */
+        final Actor<String, String> actor = stage.<String, String>newActor().create();
         final Mailbox mailbox = getField(actor, "mailbox", Mailbox.class);
         assertNotNull(mailbox);
         assertTrue(mailbox instanceof ConcurrentLinkedQueueMailbox);
     }
+
+    /**
+     * Test: 20261016232514104277
+     *
+     * <p>
+     * Method: <code>withBatchSize(int)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Each execution of the actor processes a batch of messages.
+     * </p>
+     */
+    @Test
+    public void test20261016232514104277 ()
+    {
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .withBatchSize(4)
+                .create();
+
+        IntStream.rangeClosed(1, 10).forEach(i -> actor.input().send(i));
+        stage.crank();
+
+        /**
+         * The ten messages were processed in-order using three executions (4 + 4 + 2).
+         */
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), log);
+        assertEquals(3, stage.executionCounters.get(actor).get());
+    }
+
+    /**
+     * Test: 20261016232514104348
+     *
+     * <p>
+     * Method: <code>withBatchSize(int)</code>
+     * </p>
+     *
+     * <p>
+     * Case: An exception in one message does not abort the rest of the batch.
+     * </p>
+     */
+    @Test
+    public void test20261016232514104348 ()
+    {
+        final List<Object> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(100 / x))
+                .withContextErrorHandler((context, message, cause) -> log.add("E" + message))
+                .withBatchSize(8)
+                .create();
+
+        actor.input().send(1).send(0).send(2);
+        stage.crank();
+
+        assertEquals(Arrays.asList(100, "E0", 50), log);
+        assertEquals(1, stage.executionCounters.get(actor).get());
+    }
+
+    /**
+     * Test: 20261016232514104391
+     *
+     * <p>
+     * Method: <code>withBatchSize(int)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Invalid Batch Size.
+     * </p>
+     */
+    @Test (expected = IllegalArgumentException.class)
+    public void test20261016232514104391 ()
+    {
+        stage.newActor().withBatchSize(0);
+    }
+
+    /**
+     * Test: 20261016232514104425
+     *
+     * <p>
+     * Method: <code>withBatchSize(int)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261016232514104425 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(4);
+        final CountDownLatch permits = new CountDownLatch(100_000);
+
+        final Actor<Integer, Integer> actor = stageToTest
+                .newActor()
+                .withConsumerScript((Integer x) -> permits.countDown())
+                .withBatchSize(64)
+                .create();
+
+        IntStream.range(0, 100_000).forEach(i -> actor.input().send(i));
+
+        assertTrue(permits.await(5, TimeUnit.SECONDS));
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261016234107385102
+     *
+     * <p>
+     * Class: <code>DefaultActor</code>
+     * </p>
+     *
+     * <p>
+     * Case: The scheduling state returns to idle once the mailbox is drained.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261016234107385102 ()
+            throws Exception
+    {
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withFunctionScript((Integer x) -> x)
+                .withBatchSize(2)
+                .create();
+
+        assertEquals(0L, (long) getField(actor, "state", Long.class));
+
+        /**
+         * Three pending messages, not running.
+         */
+        actor.input().send(1).send(2).send(3);
+        assertEquals(12L, (long) getField(actor, "state", Long.class));
+        assertEquals(1, stage.executionCounters.get(actor).get());
+
+        stage.crank();
+
+        /**
+         * Idle again, after exactly two executions (2 + 1).
+         */
+        assertEquals(0L, (long) getField(actor, "state", Long.class));
+        assertEquals(2, stage.executionCounters.get(actor).get());
+    }
+
+    /**
+     * Test: 20261016234107385177
+     *
+     * <p>
+     * Class: <code>DefaultActor</code>
+     * </p>
+     *
+     * <p>
+     * Case: Stress test of the scheduling protocol with many concurrent producers.
+     * No message may be lost (i.e. no lost wake-ups) and the actor may never
+     * be executed by two threads at the same time.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261016234107385177 ()
+            throws InterruptedException
+    {
+        final int producerCount = 8;
+        final int messageCount = 20_000;
+
+        for (int batchSize : new int[]
+        {
+            1, 3, 64
+        })
+        {
+            final Stage stageToTest = Cascade.newStage(4);
+            final AtomicInteger concurrency = new AtomicInteger();
+            final AtomicInteger violations = new AtomicInteger();
+            final CountDownLatch permits = new CountDownLatch(producerCount * messageCount);
+
+            final Actor<Integer, Integer> actor = stageToTest
+                    .newActor()
+                    .withConsumerScript((Integer x) ->
+                    {
+                        if (concurrency.incrementAndGet() != 1)
+                        {
+                            violations.incrementAndGet();
+                        }
+
+                        permits.countDown();
+                        concurrency.decrementAndGet();
+                    })
+                    .withBatchSize(batchSize)
+                    .create();
+
+            /**
+             * The producers yield periodically, so that the actor
+             * repeatedly transitions between idle and running.
+             */
+            final List<Thread> producers = new ArrayList<>();
+
+            for (int p = 0; p < producerCount; p++)
+            {
+                final Thread producer = new Thread(() ->
+                {
+                    for (int i = 0; i < messageCount; i++)
+                    {
+                        actor.input().send(i);
+
+                        if (i % 100 == 0)
+                        {
+                            Thread.yield();
+                        }
+                    }
+                });
+
+                producers.add(producer);
+                producer.start();
+            }
+
+            for (Thread producer : producers)
+            {
+                producer.join();
+            }
+
+            assertTrue(permits.await(10, TimeUnit.SECONDS));
+            assertEquals(0, violations.get());
+
+            stageToTest.close();
+        }
+    }
+
+    /**
+     * Test: 20261017000412730261
+     *
+     * <p>
+     * Class: <code>MpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     */
+    @Test
+    public void test20261017000412730261 ()
+    {
+        /**
+         * The capacity is rounded up to four.
+         */
+        final Mailbox<String> mailbox = MpscArrayMailbox.create(3);
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        assertTrue(mailbox.offer("C"));
+        assertTrue(mailbox.offer("D"));
+        assertFalse(mailbox.offer("E"));
+        assertEquals("A", mailbox.poll());
+        assertTrue(mailbox.offer("F"));
+        assertFalse(mailbox.offer("G"));
+        assertEquals("B", mailbox.poll());
+        assertEquals("C", mailbox.poll());
+        assertEquals("D", mailbox.poll());
+        assertEquals("F", mailbox.poll());
+        assertNull(mailbox.poll());
+
+        /**
+         * Wrap around the ring-buffer many times.
+         */
+        for (int i = 0; i < 100; i++)
+        {
+            assertTrue(mailbox.offer("X" + i));
+            assertTrue(mailbox.offer("Y" + i));
+            assertEquals("X" + i, mailbox.poll());
+            assertEquals("Y" + i, mailbox.poll());
+            assertNull(mailbox.poll());
+        }
+    }
+
+    /**
+     * Test: 20261017000412730334
+     *
+     * <p>
+     * Class: <code>MpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Invalid Capacity.
+     * </p>
+     */
+    @Test
+    public void test20261017000412730334 ()
+    {
+        assertNotNull(MpscArrayMailbox.create(1));
+
+        try
+        {
+            MpscArrayMailbox.create(0);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("capacity", ex.getMessage());
+        }
+
+        try
+        {
+            MpscArrayMailbox.create((1 << 30) + 1);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("capacity", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017000412730382
+     *
+     * <p>
+     * Class: <code>MpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Multiple concurrent producers and a single actor.
+     * Every accepted message is delivered exactly once and
+     * the messages from each producer remain in order.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017000412730382 ()
+            throws InterruptedException
+    {
+        final int producerCount = 16;
+        final int messageCount = 10_000;
+
+        final Stage stageToTest = Cascade.newStage(2);
+        final AtomicInteger accepted = new AtomicInteger();
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        final int[] lastSeen = new int[producerCount];
+        Arrays.fill(lastSeen, -1);
+
+        final Actor<int[], int[]> actor = stageToTest
+                .newActor()
+                .withConsumerScript((int[] x) ->
+                {
+                    if (lastSeen[x[0]] >= x[1])
+                    {
+                        violations.incrementAndGet();
+                    }
+
+                    lastSeen[x[0]] = x[1];
+                    delivered.incrementAndGet();
+                })
+                .withMailbox(MpscArrayMailbox.create(256))
+                .create();
+
+        final List<Thread> producers = new ArrayList<>();
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int id = p;
+
+            final Thread producer = new Thread(() ->
+            {
+                for (int i = 0; i < messageCount; i++)
+                {
+                    if (actor.input().offer(new int[]
+                    {
+                        id, i
+                    }))
+                    {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        final long deadline = System.currentTimeMillis() + 10_000;
+
+        while (delivered.get() != accepted.get() && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertTrue(accepted.get() > 0);
+        assertEquals(accepted.get(), delivered.get());
+        assertEquals(0, violations.get());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017003352018442
+     *
+     * <p>
+     * Class: <code>MpscChunkedMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017003352018442 ()
+            throws Exception
+    {
+        /**
+         * The chunk-size is rounded up to four.
+         */
+        final Mailbox<Integer> mailbox = MpscChunkedMailbox.create(3);
+        assertNull(mailbox.poll());
+
+        /**
+         * Span several chunks.
+         */
+        IntStream.range(0, 10).forEach(i -> assertTrue(mailbox.offer(i)));
+        IntStream.range(0, 10).forEach(i -> assertEquals(i, (int) mailbox.poll()));
+        assertNull(mailbox.poll());
+
+        /**
+         * Once the backlog fits in a couple of chunks,
+         * the finished chunks are recycled via the spare.
+         */
+        final Object spare = getField(mailbox, "spare", Object.class);
+        assertNotNull(spare);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertTrue(mailbox.offer(i));
+            assertTrue(mailbox.offer(i + 1));
+            assertEquals(i, (int) mailbox.poll());
+            assertEquals(i + 1, (int) mailbox.poll());
+            assertNull(mailbox.poll());
+        }
+
+        final Object consumerChunk = getField(mailbox, "consumerChunk", Object.class);
+        final Object spareAfter = getField(mailbox, "spare", Object.class);
+        assertTrue(consumerChunk == spare || spareAfter == spare);
+    }
+
+    /**
+     * Test: 20261017003352018519
+     *
+     * <p>
+     * Class: <code>MpscChunkedMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Invalid Chunk Size.
+     * </p>
+     */
+    @Test (expected = IllegalArgumentException.class)
+    public void test20261017003352018519 ()
+    {
+        MpscChunkedMailbox.create(1);
+    }
+
+    /**
+     * Test: 20261017003352018563
+     *
+     * <p>
+     * Class: <code>MpscChunkedMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Multiple concurrent producers and a single actor.
+     * Every message is delivered exactly once and
+     * the messages from each producer remain in order.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017003352018563 ()
+            throws InterruptedException
+    {
+        final int producerCount = 16;
+        final int messageCount = 10_000;
+
+        final Stage stageToTest = Cascade.newStage(2);
+        final AtomicInteger violations = new AtomicInteger();
+        final CountDownLatch permits = new CountDownLatch(producerCount * messageCount);
+        final int[] lastSeen = new int[producerCount];
+        Arrays.fill(lastSeen, -1);
+
+        final Actor<int[], int[]> actor = stageToTest
+                .newActor()
+                .withConsumerScript((int[] x) ->
+                {
+                    if (lastSeen[x[0]] + 1 != x[1])
+                    {
+                        violations.incrementAndGet();
+                    }
+
+                    lastSeen[x[0]] = x[1];
+                    permits.countDown();
+                })
+                .withMailbox(MpscChunkedMailbox.create(16))
+                .create();
+
+        final List<Thread> producers = new ArrayList<>();
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int id = p;
+
+            final Thread producer = new Thread(() ->
+            {
+                for (int i = 0; i < messageCount; i++)
+                {
+                    assertTrue(actor.input().offer(new int[]
+                    {
+                        id, i
+                    }));
+                }
+            });
+
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        assertTrue(permits.await(10, TimeUnit.SECONDS));
+        assertEquals(0, violations.get());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017003352018608
+     *
+     * <p>
+     * Method: <code>defaultMailbox(Supplier)</code>
+     * </p>
+     *
+     * <p>
+     * Case: The default mailbox can be specified stage-wide.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017003352018608 ()
+            throws Exception
+    {
+        final Actor<String, String> actor1 = stage.newActor().withFunctionScript((String x) -> x).create();
+
+        assertSame(stage, stage.defaultMailbox(MpscChunkedMailbox::create));
+
+        final Actor<String, String> actor2 = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> actor3 = stage.newActor().withFunctionScript((String x) -> x).create();
+
+        final Actor<String, String> actor4 = stage
+                .newActor()
+                .withFunctionScript((String x) -> x)
+                .withMailbox(LinkedBlockingQueueMailbox.create())
+                .create();
+
+        assertTrue(getField(actor1, "mailbox", Mailbox.class) instanceof ConcurrentLinkedQueueMailbox);
+        assertTrue(getField(actor2, "mailbox", Mailbox.class) instanceof MpscChunkedMailbox);
+        assertTrue(getField(actor3, "mailbox", Mailbox.class) instanceof MpscChunkedMailbox);
+        assertTrue(getField(actor4, "mailbox", Mailbox.class) instanceof LinkedBlockingQueueMailbox);
+        assertNotSame(getField(actor2, "mailbox", Mailbox.class), getField(actor3, "mailbox", Mailbox.class));
+    }
+
+    /**
+     * Test: 20261017010925664107
+     *
+     * <p>
+     * Class: <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     */
+    @Test
+    public void test20261017010925664107 ()
+    {
+        /**
+         * The capacity is rounded up to four.
+         */
+        final Mailbox<String> mailbox = SpscArrayMailbox.create(3);
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        assertTrue(mailbox.offer("C"));
+        assertTrue(mailbox.offer("D"));
+        assertFalse(mailbox.offer("E"));
+        assertEquals("A", mailbox.poll());
+        assertTrue(mailbox.offer("F"));
+        assertEquals("B", mailbox.poll());
+        assertEquals("C", mailbox.poll());
+        assertEquals("D", mailbox.poll());
+        assertEquals("F", mailbox.poll());
+        assertNull(mailbox.poll());
+    }
+
+    /**
+     * Test: 20261017010925664188
+     *
+     * <p>
+     * Class: <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: A single producer actor feeding a single consumer actor on different threads.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017010925664188 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(2);
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final CountDownLatch permits = new CountDownLatch(10_000);
+
+        final Actor<Integer, Integer> source = stageToTest
+                .newActor()
+                .withFunctionScript((Integer x) -> x)
+                .withMailbox(MpscChunkedMailbox.create())
+                .create();
+
+        final Actor<Integer, Integer> sink = stageToTest
+                .newActor()
+                .withConsumerScript((Integer x) ->
+                {
+                    results.add(x);
+                    permits.countDown();
+                })
+                .withMailbox(SpscArrayMailbox.create(16 * 1024))
+                .create();
+
+        source.output().connect(sink.input());
+
+        IntStream.range(0, 10_000).forEach(i -> source.input().send(i));
+
+        assertTrue(permits.await(5, TimeUnit.SECONDS));
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> results.get(i) == i));
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017010925664253
+     *
+     * <p>
+     * Class: <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: The input of an actor with a single-producer mailbox
+     * cannot be connected to more than one output at a time.
+     * </p>
+     */
+    @Test
+    public void test20261017010925664253 ()
+    {
+        final Actor<String, String> source1 = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> source2 = stage.newActor().withFunctionScript((String x) -> x).create();
+
+        final Actor<String, String> sink = stage
+                .newActor()
+                .withFunctionScript((String x) -> x)
+                .withMailbox(SpscArrayMailbox.create(8))
+                .create();
+
+        source1.output().connect(sink.input());
+        source1.output().connect(sink.input()); // Duplicate connections are no-ops.
+
+        try
+        {
+            source2.output().connect(sink.input());
+            fail();
+        }
+        catch (IllegalStateException ex)
+        {
+            assertEquals("single-producer mailbox", ex.getMessage());
+        }
+
+        assertTrue(source1.output().isConnected(sink.input()));
+        assertFalse(source2.output().isConnected(sink.input()));
+
+        /**
+         * Once the first connection is removed, another output can connect.
+         */
+        source1.output().disconnect(sink.input());
+        sink.input().connect(source2.output());
+        assertTrue(source2.output().isConnected(sink.input()));
+    }
+
+    /**
+     * Test: 20261017010925664302
+     *
+     * <p>
+     * Class: <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Concurrent producers are detected, when assertions are enabled (debug mode).
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017010925664302 ()
+            throws Exception
+    {
+        final Mailbox<String> mailbox = SpscArrayMailbox.create(8);
+        final Field producer = mailbox.getClass().getDeclaredField("producer");
+        producer.setAccessible(true);
+
+        /**
+         * Simulate another thread being in the middle of an offer().
+         */
+        producer.set(mailbox, new Thread());
+
+        try
+        {
+            mailbox.offer("A");
+            fail();
+        }
+        catch (AssertionError ex)
+        {
+            assertEquals("concurrent offer()", ex.getMessage());
+        }
+
+        try
+        {
+            mailbox.offerAll(Arrays.asList("A"));
+            fail();
+        }
+        catch (AssertionError ex)
+        {
+            assertEquals("concurrent offer()", ex.getMessage());
+        }
+
+        /**
+         * The failed offers did not release the producer-side of the mailbox,
+         * since it was never claimed by them.
+         */
+        assertNotNull(producer.get(mailbox));
+        assertNull(mailbox.poll());
+
+        producer.set(mailbox, null);
+        assertTrue(mailbox.offer("B"));
+        assertEquals("B", mailbox.poll());
+        assertNull(producer.get(mailbox));
+    }
+
+    /**
+     * Test: 20261017013741219066
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code> and <code>Mailbox.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Unbounded Mailboxes.
+     * </p>
+     */
+    @Test
+    public void test20261017013741219066 ()
+    {
+        final List<Mailbox<Integer>> mailboxes = Arrays.asList(
+                ConcurrentLinkedQueueMailbox.create(),
+                LinkedBlockingQueueMailbox.create(),
+                PriorityBlockingQueueMailbox.create(4, Integer::compare),
+                MpscChunkedMailbox.create(4));
+
+        for (Mailbox<Integer> mailbox : mailboxes)
+        {
+            final List<Integer> log = new ArrayList<>();
+
+            assertEquals(0, mailbox.drain(log::add, 10));
+            assertEquals(0, mailbox.offerAll(Arrays.asList()));
+            assertEquals(10, mailbox.offerAll(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+            assertEquals(0, mailbox.drain(log::add, 0));
+            assertEquals(3, mailbox.drain(log::add, 3));
+            assertEquals(Arrays.asList(0, 1, 2), log);
+            assertEquals(1, mailbox.drain(log::add, 1));
+            assertEquals(6, mailbox.drain(log::add, 100));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), log);
+            assertNull(mailbox.poll());
+        }
+    }
+
+    /**
+     * Test: 20261017013741219153
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code> and <code>Mailbox.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Bounded Mailboxes accept the leading messages, until full.
+     * </p>
+     */
+    @Test
+    public void test20261017013741219153 ()
+    {
+        final List<Mailbox<Integer>> mailboxes = Arrays.asList(
+                LinkedBlockingQueueMailbox.create(4),
+                ArrayBlockingQueueMailbox.create(4),
+                ArrayDequeMailbox.create(0, 4),
+                MpscArrayMailbox.create(4),
+                SpscArrayMailbox.create(4));
+
+        for (Mailbox<Integer> mailbox : mailboxes)
+        {
+            final List<Integer> log = new ArrayList<>();
+
+            assertTrue(mailbox.offer(0));
+            assertEquals(3, mailbox.offerAll(Arrays.asList(1, 2, 3, 4, 5)));
+            assertEquals(0, mailbox.offerAll(Arrays.asList(6)));
+            assertEquals(2, mailbox.drain(log::add, 2));
+            assertEquals(2, mailbox.offerAll(Arrays.asList(7, 8, 9)));
+            assertEquals(4, mailbox.drain(log::add, 10));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 7, 8), log);
+            assertNull(mailbox.poll());
+        }
+    }
+
+    /**
+     * Test: 20261017013741219207
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code> and <code>Mailbox.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Ring-Buffer Mailboxes accept every message by dropping the oldest.
+     * </p>
+     */
+    @Test
+    public void test20261017013741219207 ()
+    {
+        final Mailbox<Integer> mailbox = CircularArrayDequeMailbox.create(0, 3);
+        final List<Integer> log = new ArrayList<>();
+
+        assertEquals(5, mailbox.offerAll(Arrays.asList(1, 2, 3, 4, 5)));
+        assertEquals(3, mailbox.drain(log::add, 10));
+        assertEquals(Arrays.asList(3, 4, 5), log);
+    }
+
+    /**
+     * Test: 20261017013741219251
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code> and <code>Mailbox.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Default Implementations.
+     * </p>
+     */
+    @Test
+    public void test20261017013741219251 ()
+    {
+        final LinkedList<Integer> queue = new LinkedList<>();
+
+        final Mailbox<Integer> mailbox = new Mailbox<Integer>()
+        {
+            @Override
+            public boolean offer (final Integer message)
+            {
+                return queue.size() < 3 && queue.offer(message);
+            }
+
+            @Override
+            public Integer poll ()
+            {
+                return queue.poll();
+            }
+        };
+
+        final List<Integer> log = new ArrayList<>();
+
+        assertEquals(3, mailbox.offerAll(Arrays.asList(1, 2, 3, 4)));
+        assertEquals(2, mailbox.drain(log::add, 2));
+        assertEquals(1, mailbox.drain(log::add, 2));
+        assertEquals(Arrays.asList(1, 2, 3), log);
+    }
+
+    /**
+     * Test: 20261017013741219296
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The batch of an actor is removed from the mailbox using drain().
+     * </p>
+     */
+    @Test
+    public void test20261017013741219296 ()
+    {
+        final List<Integer> log = new ArrayList<>();
+        final List<Integer> drains = new ArrayList<>();
+        final Mailbox<Integer> inner = ConcurrentLinkedQueueMailbox.create();
+
+        final Mailbox<Integer> mailbox = new Mailbox<Integer>()
+        {
+            @Override
+            public boolean offer (final Integer message)
+            {
+                return inner.offer(message);
+            }
+
+            @Override
+            public Integer poll ()
+            {
+                return inner.poll();
+            }
+
+            @Override
+            public int drain (final Consumer<? super Integer> consumer,
+                              final int max)
+            {
+                drains.add(max);
+                return inner.drain(consumer, max);
+            }
+        };
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .withMailbox(mailbox)
+                .withBatchSize(4)
+                .create();
+
+        IntStream.rangeClosed(1, 10).forEach(i -> actor.input().send(i));
+        stage.crank();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), log);
+        assertEquals(Arrays.asList(4, 4, 2), drains);
+    }
+
+    /**
+     * Test: 20261017020158447013
+     *
+     * <p>
+     * Method: <code>withBatchScript()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Full batches are flushed immediately and, without a linger time,
+     * the final incomplete batch is flushed once the mailbox is empty.
+     * </p>
+     */
+    @Test
+    public void test20261017020158447013 ()
+    {
+        final List<List<Integer>> batches = new ArrayList<>();
+        final List<Object> outputs = new ArrayList<>();
+
+        final Actor<Integer, String> actor = stage
+                .newActor()
+                .withBatchScript((Context<Integer, String> context, List<Integer> batch) ->
+                {
+                    batches.add(new ArrayList<>(batch));
+                    context.sendFrom("N" + batch.size());
+                }, 3, Duration.ZERO)
+                .create();
+
+        final Actor<String, String> sink = stage
+                .newActor()
+                .withConsumerScript((String x) -> outputs.add(x))
+                .create();
+
+        actor.output().connect(sink.input());
+
+        IntStream.rangeClosed(1, 7).forEach(i -> actor.input().send(i));
+        stage.crank();
+
+        assertEquals(3, batches.size());
+        assertEquals(Arrays.asList(1, 2, 3), batches.get(0));
+        assertEquals(Arrays.asList(4, 5, 6), batches.get(1));
+        assertEquals(Arrays.asList(7), batches.get(2));
+        assertEquals(Arrays.asList("N3", "N3", "N1"), outputs);
+    }
+
+    /**
+     * Test: 20261017020158447102
+     *
+     * <p>
+     * Method: <code>withBatchScript()</code>
+     * </p>
+     *
+     * <p>
+     * Case: An incomplete batch is flushed once the linger time expires.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017020158447102 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(2);
+        final BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+
+        final Actor<Integer, Integer> actor = stageToTest
+                .newActor()
+                .withBatchScript((Context<Integer, Integer> context, List<Integer> batch) ->
+                {
+                    batches.add(new ArrayList<>(batch));
+                }, 100, Duration.ofMillis(50))
+                .create();
+
+        final long start = System.nanoTime();
+        IntStream.rangeClosed(1, 5).forEach(i -> actor.input().send(i));
+
+        final List<Integer> batch = batches.poll(5, TimeUnit.SECONDS);
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), batch);
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(batches.isEmpty());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017020158447166
+     *
+     * <p>
+     * Method: <code>withBatchScript()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The error-handler is invoked once per failed batch.
+     * </p>
+     */
+    @Test
+    public void test20261017020158447166 ()
+    {
+        final List<Object> errors = new ArrayList<>();
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withBatchScript((Context<Integer, Integer> context, List<Integer> batch) ->
+                {
+                    batches.add(new ArrayList<>(batch));
+
+                    if (batch.contains(2))
+                    {
+                        throw new IllegalStateException("E" + batch.size());
+                    }
+                }, 2, Duration.ZERO)
+                .withContextErrorHandler((context, message, cause) -> errors.add(message + cause.getMessage()))
+                .create();
+
+        IntStream.rangeClosed(1, 5).forEach(i -> actor.input().send(i));
+        stage.crank();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), batches);
+        assertEquals(Arrays.asList("nullE2"), errors);
+    }
+
+    /**
+     * Test: 20261017020158447219
+     *
+     * <p>
+     * Method: <code>withBatchScript()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Invalid Arguments.
+     * </p>
+     */
+    @Test
+    public void test20261017020158447219 ()
+    {
+        final BatchScript<Object, Object> script = (context, batch) ->
+        {
+            // Pass.
+        };
+
+        try
+        {
+            stage.newActor().withBatchScript(script, 0, Duration.ZERO);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("maxBatchSize < 1", ex.getMessage());
+        }
+
+        try
+        {
+            stage.newActor().withBatchScript(script, 1, Duration.ofMillis(-1));
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("maxLinger < 0", ex.getMessage());
+        }
+
+        /**
+         * A subsequent normal script replaces the batch script.
+         */
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withBatchScript(script, 8, Duration.ZERO)
+                .withConsumerScript((Integer x) -> log.add(x))
+                .create();
+
+        actor.input().send(1).send(2);
+        stage.crank();
+        assertEquals(Arrays.asList(1, 2), log);
+    }
+
+    /**
+     * Test: 20261017022446931538
+     *
+     * <p>
+     * Method: <code>Input.offerAll()</code> and <code>Input.sendAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The actor is only scheduled once per batch.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017022446931538 ()
+            throws Exception
+    {
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .withBatchSize(100)
+                .create();
+
+        assertEquals(0, actor.input().offerAll(Arrays.asList()));
+        assertNull(stage.executionCounters.get(actor));
+
+        assertEquals(5, actor.input().offerAll(Arrays.asList(1, 2, 3, 4, 5)));
+        assertSame(actor.input(), actor.input().sendAll(Arrays.asList(6, 7)));
+        assertEquals(28L, (long) getField(actor, "state", Long.class));
+        assertEquals(1, stage.executionCounters.get(actor).get());
+
+        stage.crank();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), log);
+        assertEquals(1, stage.executionCounters.get(actor).get());
+    }
+
+    /**
+     * Test: 20261017022446931604
+     *
+     * <p>
+     * Method: <code>Input.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Partial acceptance by a bounded mailbox.
+     * </p>
+     */
+    @Test
+    public void test20261017022446931604 ()
+    {
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .withMailbox(ArrayDequeMailbox.create(0, 3))
+                .create();
+
+        assertEquals(3, actor.input().offerAll(Arrays.asList(1, 2, 3, 4, 5)));
+        stage.crank();
+        assertEquals(Arrays.asList(1, 2, 3), log);
+    }
+
+    /**
+     * Test: 20261017022446931655
+     *
+     * <p>
+     * Method: <code>Input.offerAll()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Null messages are rejected before any message is enqueued.
+     * </p>
+     */
+    @Test
+    public void test20261017022446931655 ()
+    {
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .create();
+
+        try
+        {
+            actor.input().offerAll(Arrays.asList(1, null, 3));
+            fail();
+        }
+        catch (NullPointerException ex)
+        {
+            assertEquals("message", ex.getMessage());
+        }
+
+        stage.crank();
+        assertTrue(log.isEmpty());
+        assertNull(stage.executionCounters.get(actor));
+    }
+
+    /**
+     * Test: 20261017024031705819
+     *
+     * <p>
+     * Method: <code>newVirtualStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Blocking scripts execute concurrently on virtual threads,
+     * if the runtime supports virtual threads.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017024031705819 ()
+            throws Exception
+    {
+        if (Runtime.version().feature() < 21)
+        {
+            try
+            {
+                Cascade.newVirtualStage();
+                fail();
+            }
+            catch (UnsupportedOperationException ex)
+            {
+                assertEquals("virtual threads require Java 21 or later", ex.getMessage());
+            }
+
+            return;
+        }
+
+        final Stage stageToTest = Cascade.newVirtualStage();
+        final int actorCount = 100;
+        final CountDownLatch started = new CountDownLatch(actorCount);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<Boolean> virtual = new ConcurrentSkipListSet<>();
+
+        /**
+         * Every actor blocks until all of the actors have started,
+         * which is only possible, if they are all blocked concurrently.
+         */
+        for (int i = 0; i < actorCount; i++)
+        {
+            final Actor<Object, Object> actor = stageToTest
+                    .newActor()
+                    .withConsumerScript((Object x) ->
+                    {
+                        virtual.add((Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+                        started.countDown();
+                        release.await();
+                    })
+                    .create();
+
+            actor.input().send("X");
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals(Set.of(true), virtual);
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017031502118204
+     *
+     * <p>
+     * Method: <code>newEventLoopStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017031502118204 ()
+            throws InterruptedException
+    {
+        testStage(Cascade.newEventLoopStage(1, true));
+        testStage(Cascade.newEventLoopStage(4, true));
+    }
+
+    /**
+     * Test: 20261017031502118290
+     *
+     * <p>
+     * Class: <code>EventLoopStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: Each actor always runs on the same worker thread,
+     * and the actors are spread across the worker threads.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017031502118290 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newEventLoopStage(4, true);
+        final int actorCount = 8;
+        final int messageCount = 1000;
+        final CountDownLatch latch = new CountDownLatch(actorCount * messageCount);
+        final List<Set<String>> threads = new ArrayList<>();
+        final List<Actor<Integer, Integer>> actors = new ArrayList<>();
+
+        for (int i = 0; i < actorCount; i++)
+        {
+            final Set<String> names = new ConcurrentSkipListSet<>();
+            threads.add(names);
+
+            final Actor<Integer, Integer> actor = stageToTest
+                    .newActor()
+                    .withConsumerScript((Integer x) ->
+                    {
+                        names.add(Thread.currentThread().getName());
+                        latch.countDown();
+                    })
+                    .create();
+
+            actors.add(actor);
+        }
+
+        for (int k = 0; k < messageCount; k++)
+        {
+            for (Actor<Integer, Integer> actor : actors)
+            {
+                actor.input().send(k);
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        final Set<String> all = new ConcurrentSkipListSet<>();
+
+        for (Set<String> names : threads)
+        {
+            assertEquals(1, names.size());
+            all.addAll(names);
+        }
+
+        assertEquals(4, all.size());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017031502118371
+     *
+     * <p>
+     * Method: <code>newEventLoopStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Custom idle-strategy and daemon threads.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017031502118371 ()
+            throws InterruptedException
+    {
+        final AtomicInteger idleCount = new AtomicInteger();
+        final Set<Boolean> daemon = new ConcurrentSkipListSet<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        final Stage stageToTest = Cascade.newEventLoopStage(1, true, n ->
+                                                    {
+                                                        idleCount.incrementAndGet();
+                                                        Thread.yield();
+                                                    });
+
+        final Actor<Integer, Integer> actor = stageToTest
+                .newActor()
+                .withConsumerScript((Integer x) ->
+                {
+                    daemon.add(Thread.currentThread().isDaemon());
+                    latch.countDown();
+                })
+                .create();
+
+        actor.input().send(1);
+        Thread.sleep(10);
+        actor.input().send(2);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(idleCount.get() > 0);
+        assertEquals(Set.of(true), daemon);
+
+        stageToTest.close();
+
+        try
+        {
+            Cascade.newEventLoopStage(0, true);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("threadCount < 1", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017031502118452
+     *
+     * <p>
+     * Class: <code>EventLoopStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: Close the stage.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017031502118452 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newEventLoopStage(2, false);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final Actor<Integer, Integer> actor = stageToTest
+                .newActor()
+                .withConsumerScript((Integer x) ->
+                {
+                    results.add(x);
+                    latch.countDown();
+                })
+                .create();
+
+        actor.input().send(1);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        final List<Thread> workers = new ArrayList<>();
+        Thread.getAllStackTraces().keySet().stream().filter(CascadeTest::isEventLoop).forEach(workers::add);
+        assertFalse(workers.isEmpty());
+
+        stageToTest.close();
+
+        /**
+         * The worker threads are non-daemon threads; therefore,
+         * the JVM would hang, if they failed to die.
+         */
+        for (Thread worker : workers)
+        {
+            worker.join(5000);
+            assertFalse(worker.isAlive());
+        }
+
+        actor.input().send(2);
+        assertEquals(List.of(1), results);
+    }
+
+    private static boolean isEventLoop (final Thread thread)
+    {
+        return Arrays.stream(thread.getStackTrace()).anyMatch(x -> x.getClassName().contains("EventLoopStage"));
+    }
+
+    /**
+     * Test: 20261017034418552031
+     *
+     * <p>
+     * Method: <code>newWorkStealingStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017034418552031 ()
+            throws InterruptedException
+    {
+        testStage(Cascade.newWorkStealingStage(1, true));
+        testStage(Cascade.newWorkStealingStage(4, true));
+    }
+
+    /**
+     * Test: 20261017034418552117
+     *
+     * <p>
+     * Class: <code>WorkStealingStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor that is woken from inside of a crank is pushed onto the local deque
+     * of the current worker thread, rather than the shared submission queue.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017034418552117 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newWorkStealingStage(1, false);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Integer> queued = new CopyOnWriteArrayList<>();
+        final List<Boolean> daemon = new CopyOnWriteArrayList<>();
+
+        final Actor<Integer, Integer> sink = stageToTest.newActor().withConsumerScript((Integer x) -> latch.countDown()).create();
+
+        final Actor<Integer, Integer> source = stageToTest
+                .newActor()
+                .withContextScript((Context<Integer, Integer> context, Integer x) ->
+                {
+                    context.sendFrom(x);
+                    queued.add(ForkJoinTask.getQueuedTaskCount());
+                    daemon.add(Thread.currentThread().isDaemon());
+                })
+                .create();
+
+        source.output().connect(sink.input());
+        source.input().send(1);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1), queued);
+        assertEquals(List.of(false), daemon);
+
+        stageToTest.close();
+
+        try
+        {
+            Cascade.newWorkStealingStage(0, true);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("threadCount < 1", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017041127330918
+     *
+     * <p>
+     * Class: <code>IdleStrategy</code>
+     * </p>
+     *
+     * <p>
+     * Case: Ping-pong between two actors on event-loop stages using each idle-strategy.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017041127330918 ()
+            throws InterruptedException
+    {
+        final List<IdleStrategy> strategies = List.of(IdleStrategy.blocking(),
+                                                      IdleStrategy.busySpin(),
+                                                      IdleStrategy.spinThenYield(100),
+                                                      IdleStrategy.backoff(100, 10, Duration.ofNanos(1000), Duration.ofMillis(1)));
+
+        /**
+         * Spinning threads must not outnumber the processors,
+         * since a spinning thread would otherwise starve the other thread.
+         */
+        final int threadCount = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+        for (IdleStrategy strategy : strategies)
+        {
+            final Stage stageToTest = Cascade.newEventLoopStage(threadCount, true, strategy);
+            final int roundTrips = 1000;
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            /**
+             * The ping-actor and the pong-actor will be assigned to different worker threads,
+             * if there are enough processors to support two worker threads.
+             */
+            final Actor<Integer, Integer> ping = stageToTest
+                    .newActor()
+                    .withFunctionScript((Integer x) ->
+                    {
+                        if (x == roundTrips)
+                        {
+                            latch.countDown();
+                        }
+
+                        return x + 1;
+                    })
+                    .create();
+
+            final Actor<Integer, Integer> pong = stageToTest.newActor().withFunctionScript((Integer x) -> x).create();
+
+            ping.output().connect(pong.input());
+            pong.output().connect(ping.input());
+            ping.input().send(1);
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            stageToTest.close();
+        }
+    }
+
+    /**
+     * Test: 20261017041127331004
+     *
+     * <p>
+     * Class: <code>IdleStrategy</code>
+     * </p>
+     *
+     * <p>
+     * Case: Backoff progression and argument validation.
+     * </p>
+     */
+    @Test
+    public void test20261017041127331004 ()
+    {
+        /**
+         * The parks are short; therefore, this will complete quickly,
+         * even though the shift would overflow, if it were not bounded.
+         */
+        final IdleStrategy backoff = IdleStrategy.backoff(2, 2, Duration.ofNanos(1), Duration.ofNanos(10));
+
+        for (int i = 1; i < 100; i++)
+        {
+            backoff.idle(i);
+        }
+
+        backoff.idle(Integer.MAX_VALUE);
+
+        IdleStrategy.spinThenYield(0).idle(1);
+        IdleStrategy.busySpin().idle(1);
+
+        /**
+         * Only the strategies that may park the worker need it to be unparked.
+         */
+        assertTrue(IdleStrategy.blocking().parks());
+        assertTrue(backoff.parks());
+        assertFalse(IdleStrategy.spinThenYield(0).parks());
+        assertFalse(IdleStrategy.busySpin().parks());
+
+        assertIllegalArgument("spins < 0", () -> IdleStrategy.spinThenYield(-1));
+        assertIllegalArgument("spins < 0", () -> IdleStrategy.backoff(-1, 0, Duration.ofNanos(1), Duration.ofNanos(1)));
+        assertIllegalArgument("yields < 0", () -> IdleStrategy.backoff(0, -1, Duration.ofNanos(1), Duration.ofNanos(1)));
+        assertIllegalArgument("minPark <= 0", () -> IdleStrategy.backoff(0, 0, Duration.ZERO, Duration.ofNanos(1)));
+        assertIllegalArgument("maxPark < minPark", () -> IdleStrategy.backoff(0, 0, Duration.ofNanos(2), Duration.ofNanos(1)));
+    }
+
+    private static void assertIllegalArgument (final String message,
+                                               final Runnable task)
+    {
+        try
+        {
+            task.run();
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017045203664180
+     *
+     * <p>
+     * Method: <code>newShardedStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Actors are pinned to lanes by explicit lane-id or by key.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017045203664180 ()
+            throws InterruptedException
+    {
+        final EventLoopStage stageToTest = Cascade.newShardedStage(3, true);
+        final CountDownLatch latch = new CountDownLatch(3);
+        final Map<String, String> threads = new ConcurrentHashMap<>();
+
+        assertEquals(3, stageToTest.laneCount());
+        assertEquals(stageToTest.laneOf("K"), stageToTest.laneOf(new String("K")));
+        assertEquals(1, stageToTest.laneOf("L"));
+
+        final Actor<String, String> actor0 = stageToTest
+                .newActor(0)
+                .withConsumerScript((String x) ->
+                {
+                    threads.put(x, Thread.currentThread().getName());
+                    latch.countDown();
+                })
+                .create();
+
+        final Actor<String, String> actor1 = stageToTest
+                .newActor(0)
+                .withConsumerScript((String x) ->
+                {
+                    threads.put(x, Thread.currentThread().getName());
+                    latch.countDown();
+                })
+                .create();
+
+        final Actor<String, String> actor2 = stageToTest
+                .newActorByKey("L")
+                .withConsumerScript((String x) ->
+                {
+                    threads.put(x, Thread.currentThread().getName());
+                    latch.countDown();
+                })
+                .create();
+
+        assertEquals(2, stageToTest.laneActorCount(0));
+        assertEquals(1, stageToTest.laneActorCount(1));
+        assertEquals(0, stageToTest.laneActorCount(2));
+
+        actor0.input().send("A");
+        actor1.input().send("B");
+        actor2.input().send("C");
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        /**
+         * Co-located actors run on the same thread.
+         */
+        assertEquals(threads.get("A"), threads.get("B"));
+        assertNotEquals(threads.get("A"), threads.get("C"));
+
+        stageToTest.close();
+
+        try
+        {
+            stageToTest.newActor(3);
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex)
+        {
+            // Pass.
+        }
+    }
+
+    /**
+     * Test: 20261017045203664266
+     *
+     * <p>
+     * Class: <code>EventLoopStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: Per-lane metrics distinguish same-lane sends from cross-thread handoffs.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017045203664266 ()
+            throws InterruptedException
+    {
+        final EventLoopStage stageToTest = Cascade.newShardedStage(2, true);
+        final int messageCount = 100;
+        final CountDownLatch latch = new CountDownLatch(messageCount);
+
+        /**
+         * The source-actor and the sink-actor are co-located;
+         * therefore, sends from the source to the sink stay on lane (1).
+         */
+        final Actor<Integer, Integer> source = stageToTest.newActor(1).withFunctionScript((Integer x) -> x).create();
+        final Actor<Integer, Integer> sink = stageToTest.newActor(1).withConsumerScript((Integer x) -> latch.countDown()).create();
+        source.output().connect(sink.input());
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            source.input().send(i);
+            Thread.sleep(0, 100_000);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        /**
+         * The counters are updated after the actors run; therefore, wait for them.
+         */
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline && stageToTest.laneRunCount(1) - stageToTest.laneHandoffCount(1) == 0)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(0, stageToTest.laneRunCount(0));
+        assertEquals(0, stageToTest.laneHandoffCount(0));
+        assertEquals(0, stageToTest.laneActorCount(0));
+        assertEquals(2, stageToTest.laneActorCount(1));
+        assertTrue(stageToTest.laneHandoffCount(1) > 0);
+        assertTrue(stageToTest.laneRunCount(1) > stageToTest.laneHandoffCount(1));
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017052640093317
+     *
+     * <p>
+     * Method: <code>inlineDispatch()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Messages are dispatched inline through a pipeline, up to the maximum depth.
+     * </p>
+     */
+    @Test
+    public void test20261017052640093317 ()
+    {
+        final List<String> results = new ArrayList<>();
+
+        assertSame(stage, stage.inlineDispatch(4));
+
+        final List<Actor<String, String>> actors = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++)
+        {
+            final String name = "A" + i;
+            actors.add(stage.newActor().withFunctionScript((String x) ->
+            {
+                results.add(name);
+                return x;
+            }).create());
+        }
+
+        for (int i = 1; i < actors.size(); i++)
+        {
+            actors.get(i - 1).output().connect(actors.get(i).input());
+        }
+
+        /**
+         * Sending from outside of the stage never dispatches inline.
+         */
+        actors.get(0).input().send("X");
+        assertEquals(List.of(), results);
+
+        /**
+         * The first actor is executed by the stage.
+         * The next four actors are executed inline.
+         * The last actor exceeds the maximum depth; therefore, it is executed by the stage.
+         */
+        stage.crank();
+        assertEquals(List.of("A0", "A1", "A2", "A3", "A4", "A5"), results);
+        assertEquals(2, stage.executionCounters.size());
+        assertEquals(1, stage.executionCounters.get(actors.get(0)).get());
+        assertEquals(1, stage.executionCounters.get(actors.get(5)).get());
+
+        try
+        {
+            stage.inlineDispatch(-1);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            assertEquals("maxDepth < 0", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017052640093402
+     *
+     * <p>
+     * Method: <code>inlineDispatch()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Messages are not dispatched inline, if the recipient has pending messages,
+     * so that the order of the messages is preserved.
+     * </p>
+     */
+    @Test
+    public void test20261017052640093402 ()
+    {
+        final List<String> results = new ArrayList<>();
+
+        stage.inlineDispatch(8);
+
+        final Actor<String, String> source = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> sink = stage.newActor().withConsumerScript((String x) -> results.add(x)).create();
+        source.output().connect(sink.input());
+
+        /**
+         * The source runs before the sink; therefore, message (A) is still pending
+         * in the mailbox of the sink, when the source sends message (B).
+         */
+        source.input().send("B");
+        sink.input().send("A");
+
+        stage.crank();
+        assertEquals(List.of("A", "B"), results);
+        assertEquals(2, stage.executionCounters.get(sink).get());
+
+        /**
+         * Now that the sink is idle, the next message is dispatched inline.
+         */
+        source.input().send("C");
+        stage.crank();
+        assertEquals(List.of("A", "B", "C"), results);
+        assertEquals(2, stage.executionCounters.get(sink).get());
+    }
+
+    /**
+     * Test: 20261017052640093488
+     *
+     * <p>
+     * Method: <code>inlineDispatch()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017052640093488 ()
+            throws InterruptedException
+    {
+        testStage(Cascade.newStage(2).inlineDispatch(8));
+        testStage(Cascade.newEventLoopStage(2, true).inlineDispatch(1));
+    }
+
+    /**
+     * Test: 20261017060814227530
+     *
+     * <p>
+     * Method: <code>fusion()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A linear pipeline of actors is fused, and then un-fused, when a tap is connected.
+     * </p>
+     */
+    @Test
+    public void test20261017060814227530 ()
+    {
+        final List<String> results = new ArrayList<>();
+        final List<Actor<String, String>> actors = new ArrayList<>();
+
+        assertSame(stage, stage.fusion(true));
+
+        for (int i = 0; i < 10; i++)
+        {
+            final String name = "A" + i;
+            actors.add(stage.newActor().withFunctionScript((String x) ->
+            {
+                results.add(name + x);
+                return x;
+            }).create());
+        }
+
+        for (int i = 1; i < actors.size(); i++)
+        {
+            actors.get(i - 1).output().connect(actors.get(i).input());
+        }
+
+        /**
+         * Only the head of the fused chain is ever scheduled.
+         */
+        actors.get(0).input().send("X");
+        stage.crank();
+        assertEquals(10, results.size());
+        assertEquals("A0X", results.get(0));
+        assertEquals("A9X", results.get(9));
+        assertEquals(Set.of(actors.get(0)), stage.executionCounters.keySet());
+
+        /**
+         * Connect a tap to the output in the middle of the chain.
+         * Thus, the chain is split into two fused chains.
+         */
+        final Actor<String, String> tap = stage.newActor().withConsumerScript((String x) -> results.add("T" + x)).create();
+        actors.get(4).output().connect(tap.input());
+        results.clear();
+
+        actors.get(0).input().send("Y");
+        stage.crank();
+        assertEquals(11, results.size());
+        assertTrue(results.contains("TY"));
+        assertEquals(Set.of(actors.get(0), actors.get(5), tap), stage.executionCounters.keySet());
+
+        /**
+         * Disconnecting the tap restores the fusion.
+         */
+        actors.get(4).output().disconnect(tap.input());
+        results.clear();
+
+        actors.get(0).input().send("Z");
+        stage.crank();
+        assertEquals(10, results.size());
+        assertEquals(3, stage.executionCounters.get(actors.get(0)).get());
+        assertEquals(1, stage.executionCounters.get(actors.get(5)).get());
+    }
+
+    /**
+     * Test: 20261017060814227617
+     *
+     * <p>
+     * Method: <code>fusion()</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor in the middle of a chain gains a second upstream connection.
+     * </p>
+     */
+    @Test
+    public void test20261017060814227617 ()
+    {
+        final List<String> results = new ArrayList<>();
+
+        stage.fusion(true);
+
+        final Actor<String, String> first = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> second = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> third = stage.newActor().withConsumerScript((String x) -> results.add(x)).create();
+        final Actor<String, String> other = stage.newActor().withFunctionScript((String x) -> x).create();
+        first.output().connect(second.input());
+        second.output().connect(third.input());
+        other.output().connect(second.input());
+
+        first.input().send("A");
+        stage.crank();
+        assertEquals(List.of("A"), results);
+        assertEquals(Set.of(first, second), stage.executionCounters.keySet());
+
+        /**
+         * Disabling fusion causes every actor to be scheduled.
+         */
+        stage.fusion(false);
+        other.output().disconnect(second.input());
+        first.input().send("B");
+        stage.crank();
+        assertEquals(List.of("A", "B"), results);
+        assertEquals(Set.of(first, second, third), stage.executionCounters.keySet());
+    }
+
+    /**
+     * Test: 20261017060814227702
+     *
+     * <p>
+     * Method: <code>fusion()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput of a fused ten-actor pipeline.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017060814227702 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(2).fusion(true);
+        final int messageCount = 10_000;
+        final CountDownLatch latch = new CountDownLatch(messageCount);
+
+        Actor<Integer, Integer> tail = stageToTest.newActor().withFunctionScript((Integer x) -> x + 1).create();
+        final Actor<Integer, Integer> head = tail;
+
+        for (int i = 1; i < 10; i++)
+        {
+            final Actor<Integer, Integer> next = stageToTest.newActor().withFunctionScript((Integer x) -> x + 1).create();
+            tail.output().connect(next.input());
+            tail = next;
+        }
+
+        final Set<Integer> results = new ConcurrentSkipListSet<>();
+        final Actor<Integer, Integer> sink = stageToTest.newActor().withConsumerScript((Integer x) ->
+        {
+            results.add(x);
+            latch.countDown();
+        }).create();
+        tail.output().connect(sink.input());
+
+        IntStream.range(0, messageCount).forEach(i -> head.input().send(i));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(messageCount, results.size());
+        assertTrue(IntStream.range(0, messageCount).allMatch(x -> results.contains(x + 10)));
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017063950771204
+     *
+     * <p>
+     * Method: <code>newElasticStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Throughput.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017063950771204 ()
+            throws InterruptedException
+    {
+        testStage(Cascade.newElasticStage(1, 4, true));
+    }
+
+    /**
+     * Test: 20261017063950771290
+     *
+     * <p>
+     * Class: <code>ElasticStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: The pool grows, when actors are lagging, and shrinks, when the load subsides.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017063950771290 ()
+            throws InterruptedException
+    {
+        final ElasticStage stageToTest = Cascade.newElasticStage(1, 3, true, Duration.ofMillis(1), Duration.ofMillis(10));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+
+        assertEquals(1, stageToTest.size());
+        assertEquals(1, stageToTest.minSize());
+        assertEquals(3, stageToTest.maxSize());
+
+        /**
+         * Each actor blocks; therefore, the other actors lag behind,
+         * until the pool has grown large enough to run all of them.
+         */
+        for (int i = 0; i < 3; i++)
+        {
+            final Actor<String, String> actor = stageToTest
+                    .newActor()
+                    .withConsumerScript((String x) ->
+                    {
+                        started.countDown();
+                        release.await();
+                    })
+                    .create();
+
+            actor.input().send("X");
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(3, stageToTest.size());
+        assertTrue(stageToTest.growCount() >= 2);
+
+        /**
+         * Once the actors stop blocking, the pool is idle; therefore, it shrinks.
+         */
+        release.countDown();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline && stageToTest.size() > 1)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, stageToTest.size());
+        assertTrue(stageToTest.shrinkCount() >= 2);
+        assertTrue(stageToTest.lastUtilization() < 0.5);
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017063950771375
+     *
+     * <p>
+     * Method: <code>newElasticStage()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Invalid arguments.
+     * </p>
+     */
+    @Test
+    public void test20261017063950771375 ()
+    {
+        final Duration one = Duration.ofMillis(1);
+
+        assertIllegalArgument("minThreads < 1", () -> Cascade.newElasticStage(0, 1, true));
+        assertIllegalArgument("maxThreads < minThreads", () -> Cascade.newElasticStage(2, 1, true));
+        assertIllegalArgument("targetLag <= 0", () -> Cascade.newElasticStage(1, 1, true, Duration.ZERO, one));
+        assertIllegalArgument("period <= 0", () -> Cascade.newElasticStage(1, 1, true, one, Duration.ZERO));
+    }
+
+    /**
+     * Test: 20261017071225504117
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Admission stops, but the pending messages drain through the pipeline.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017071225504117 ()
+            throws InterruptedException
+    {
+        final List<String> results = new ArrayList<>();
+        final Actor<String, String> source = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> sink = stage.newActor().withConsumerScript((String x) -> results.add(x)).create();
+        source.output().connect(sink.input());
+
+        source.input().send("A");
+        source.input().send("B");
+
+        assertFalse(stage.awaitTermination(Duration.ZERO));
+        assertSame(stage, stage.shutdown(Duration.ofSeconds(5)));
+        assertSame(stage, stage.shutdown(Duration.ofSeconds(5)));
+
+        /**
+         * Messages from outside of the stage are no longer admitted.
+         */
+        assertFalse(source.input().offer("C"));
+        assertEquals(Map.of(source, 2L), stage.unprocessed());
+
+        /**
+         * Messages from the source to the sink are still admitted.
+         */
+        stage.crank();
+        assertEquals(List.of("A", "B"), results);
+
+        assertTrue(stage.awaitTermination(Duration.ofSeconds(5)));
+        assertTrue(stage.unprocessed().isEmpty());
+        assertEquals("CLOSE", stage.whatHappened.get(stage.whatHappened.size() - 1).getKey());
+    }
+
+    /**
+     * Test: 20261017071225504203
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The deadline expires, before the mailboxes are drained.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017071225504203 ()
+            throws InterruptedException
+    {
+        final List<String> results = new ArrayList<>();
+        final Actor<String, String> actor = stage.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        actor.input().send("A");
+        actor.input().send("B");
+        actor.input().send("C");
+
+        /**
+         * The stage is never cranked; therefore, the messages cannot drain.
+         */
+        stage.shutdown(Duration.ofMillis(10));
+        assertTrue(stage.awaitTermination(Duration.ofSeconds(5)));
+        assertEquals(Map.of(actor, 3L), stage.unprocessed());
+
+        /**
+         * The actor is still scheduled; however, since the stage is closed,
+         * the pending messages are not processed, nor discarded.
+         */
+        stage.crank();
+        assertEquals(List.of(), results);
+        assertEquals(Map.of(actor, 3L), stage.unprocessed());
+        assertFalse(actor.input().offer("D"));
+    }
+
+    /**
+     * Test: 20261017071225504288
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Zero-loss shutdown of a pipeline on a thread-pool.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017071225504288 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(2);
+        final AtomicInteger count = new AtomicInteger();
+
+        final Actor<Integer, Integer> source = stageToTest.newActor().withFunctionScript((Integer x) -> x).create();
+        final Actor<Integer, Integer> middle = stageToTest.newActor().withFunctionScript((Integer x) -> x).create();
+        final Actor<Integer, Integer> sink = stageToTest.newActor().withConsumerScript((Integer x) -> count.incrementAndGet()).create();
+        source.output().connect(middle.input());
+        middle.output().connect(sink.input());
+
+        IntStream.range(0, 10_000).forEach(i -> source.input().send(i));
+
+        stageToTest.shutdown(Duration.ofSeconds(5));
+        assertTrue(stageToTest.awaitTermination(Duration.ofSeconds(5)));
+        assertEquals(10_000, count.get());
+        assertTrue(stageToTest.unprocessed().isEmpty());
+    }
+
+    /**
+     * A stage that rejects actors, while it is full.
+     */
+    private static final class RejectingStage
+            extends AbstractStage
+    {
+        public final AtomicBoolean full = new AtomicBoolean(true);
+
+        public final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private final Queue<DefaultActor<?, ?>> tasks = new LinkedBlockingQueue<>();
+
+        @Override
+        protected void onRunnable (final DefaultActor<?, ?> actor)
+        {
+            if (full.get())
+            {
+                throw new RejectedExecutionException();
+            }
+
+            tasks.add(actor);
+        }
+
+        @Override
+        protected void onClose ()
+        {
+            closed.set(true);
+        }
+
+        public int crank ()
+        {
+            int count = 0;
+
+            for (DefaultActor<?, ?> task = tasks.poll(); task != null; task = tasks.poll())
+            {
+                task.run();
+                ++count;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Test: 20261017074518336102
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.overflow()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A rejected actor is parked on the overflow list and resubmitted, when capacity frees up.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017074518336102 ()
+            throws InterruptedException
+    {
+        final RejectingStage stageToTest = new RejectingStage();
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final Actor<String, String> actor = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        stageToTest.overloadPolicy(OverloadPolicy.overflow());
+
+        actor.input().send("A");
+        actor.input().send("B");
+
+        /**
+         * The overflow timer may have already resubmitted the actor, which was rejected again.
+         */
+        assertFalse(stageToTest.closed.get());
+        assertTrue(stageToTest.rejectionCount() >= 1);
+        assertEquals(1, stageToTest.overflowCount());
+
+        /**
+         * The overflow list is periodically resubmitted.
+         */
+        stageToTest.full.set(false);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (results.size() < 2 && System.nanoTime() < deadline)
+        {
+            stageToTest.crank();
+            Thread.sleep(1);
+        }
+
+        assertEquals(List.of("A", "B"), results);
+        assertFalse(stageToTest.closed.get());
+        assertEquals(0, stageToTest.retryCount());
+        assertEquals(0, stageToTest.callerRunsCount());
+    }
+
+    /**
+     * Test: 20261017074518336188
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.callerRuns()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A rejected actor is run on the thread that sent the message.
+     * </p>
+     */
+    @Test
+    public void test20261017074518336188 ()
+    {
+        final RejectingStage stageToTest = new RejectingStage();
+        final List<String> results = new ArrayList<>();
+        final Actor<String, String> actor = stageToTest
+                .newActor()
+                .withConsumerScript((String x) -> results.add(x + Thread.currentThread().getName()))
+                .create();
+
+        stageToTest.overloadPolicy(OverloadPolicy.callerRuns());
+
+        actor.input().send("A");
+
+        assertEquals(List.of("A" + Thread.currentThread().getName()), results);
+        assertEquals(1, stageToTest.rejectionCount());
+        assertEquals(1, stageToTest.callerRunsCount());
+        assertFalse(stageToTest.closed.get());
+    }
+
+    /**
+     * Test: 20261017074518336273
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.retry()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A rejected actor is retried with backoff, until it is accepted.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017074518336273 ()
+            throws InterruptedException
+    {
+        final RejectingStage stageToTest = new RejectingStage();
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final Actor<String, String> actor = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        stageToTest.overloadPolicy(OverloadPolicy.retry(Duration.ofMillis(1), Duration.ofMillis(4)));
+
+        actor.input().send("A");
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (stageToTest.retryCount() < 3 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertTrue(stageToTest.retryCount() >= 3);
+        assertTrue(stageToTest.rejectionCount() >= 3);
+
+        stageToTest.full.set(false);
+
+        while (stageToTest.crank() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(List.of("A"), results);
+        assertFalse(stageToTest.closed.get());
+
+        assertIllegalArgument("initialBackoff <= 0", () -> OverloadPolicy.retry(Duration.ZERO, Duration.ofMillis(1)));
+        assertIllegalArgument("maxBackoff < initialBackoff", () -> OverloadPolicy.retry(Duration.ofMillis(2), Duration.ofMillis(1)));
+    }
+
+    /**
+     * Test: 20261017074518336359
+     *
+     * <p>
+     * Method: <code>overloadPolicy()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A stage based on a saturated bounded executor does not lose any messages.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017074518336359 ()
+            throws InterruptedException
+    {
+        for (OverloadPolicy policy : List.of(OverloadPolicy.callerRuns(),
+                                             OverloadPolicy.overflow(),
+                                             OverloadPolicy.retry(Duration.ofNanos(1000), Duration.ofMillis(1))))
+        {
+            final Stage stageToTest = Cascade.newStage(new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1)));
+            final int actorCount = 10;
+            final int messageCount = 1000;
+            final CountDownLatch latch = new CountDownLatch(actorCount * messageCount);
+
+            stageToTest.overloadPolicy(policy);
+
+            final List<Actor<Integer, Integer>> actors = new ArrayList<>();
+
+            for (int i = 0; i < actorCount; i++)
+            {
+                actors.add(stageToTest.newActor().withConsumerScript((Integer x) -> latch.countDown()).create());
+            }
+
+            for (int k = 0; k < messageCount; k++)
+            {
+                for (Actor<Integer, Integer> actor : actors)
+                {
+                    actor.input().send(k);
+                }
+            }
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(((AbstractStage) stageToTest).rejectionCount() > 0);
+
+            stageToTest.close();
+        }
+    }
+
+    /**
+     * Test: 20261017091407220518
+     *
+     * <p>
+     * Method: <code>Input.sendAfter()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Delayed and cancelled messages.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017091407220518 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(1, true);
+        final BlockingQueue<String> results = new LinkedBlockingQueue<>();
+        final Actor<String, String> actor = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        final long start = System.nanoTime();
+        final TimingWheel.Timeout delayed = actor.input().sendAfter("A", Duration.ofMillis(20));
+        final TimingWheel.Timeout cancelled = actor.input().sendAfter("B", Duration.ofMillis(10));
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+
+        assertEquals("A", results.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(delayed.isExpired());
+        assertFalse(delayed.cancel());
+
+        Thread.sleep(20);
+        assertTrue(results.isEmpty());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017091407220604
+     *
+     * <p>
+     * Method: <code>Context.sendToEvery()</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor sends periodic ticks to itself, until it cancels them.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017091407220604 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(1, true);
+        final AtomicInteger ticks = new AtomicInteger();
+        final AtomicReference<TimingWheel.Timeout> timeout = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final Actor<String, String> actor = stageToTest
+                .newActor()
+                .withContextScript((Context<String, String> context, String x) ->
+                {
+                    if (x.equals("START"))
+                    {
+                        timeout.set(context.sendToEvery("TICK", Duration.ofMillis(2)));
+                    }
+                    else if (ticks.incrementAndGet() == 3)
+                    {
+                        timeout.get().cancel();
+                        context.sendToAfter("DONE", Duration.ofMillis(10));
+                    }
+                    else if (x.equals("DONE"))
+                    {
+                        latch.countDown();
+                    }
+                })
+                .create();
+
+        actor.input().send("START");
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.get().isCancelled());
+        assertEquals(4, ticks.get());
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017091407220690
+     *
+     * <p>
+     * Class: <code>TimingWheel</code>
+     * </p>
+     *
+     * <p>
+     * Case: Many outstanding timeouts across multiple levels of the wheel,
+     * half of which are cancelled, and none of which expire early.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017091407220690 ()
+            throws InterruptedException
+    {
+        /**
+         * The tick is short, so that the delays span three levels of the wheel.
+         */
+        final TimingWheel wheel = TimingWheel.create(Duration.ofNanos(10_000));
+        final int count = 100_000;
+        final AtomicInteger expired = new AtomicInteger();
+        final AtomicInteger early = new AtomicInteger();
+        final List<TimingWheel.Timeout> timeouts = new ArrayList<>(count);
+        final Random random = new Random(1);
+
+        for (int i = 0; i < count; i++)
+        {
+            final long delay = 500_000_000 + random.nextInt(200_000_000);
+            final long deadline = System.nanoTime() + delay;
+
+            timeouts.add(wheel.schedule(() ->
+            {
+                expired.incrementAndGet();
+
+                if (System.nanoTime() < deadline)
+                {
+                    early.incrementAndGet();
+                }
+            }, Duration.ofNanos(delay)));
+        }
+
+        for (int i = 0; i < count; i += 2)
+        {
+            assertTrue(timeouts.get(i).cancel());
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (wheel.outstanding() > 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, wheel.outstanding());
+        assertEquals(count / 2, expired.get());
+        assertEquals(0, early.get());
+        assertTrue(timeouts.stream().allMatch(x -> x.isCancelled() != x.isExpired()));
+
+        wheel.close();
+
+        assertIllegalArgument("tick <= 0", () -> TimingWheel.create(Duration.ZERO));
+        assertIllegalArgument("period <= 0", () -> TimingWheel.shared().scheduleAtFixedRate(() -> {}, Duration.ZERO, Duration.ZERO));
+
+        try
+        {
+            TimingWheel.shared().close();
+            fail();
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            assertEquals("shared", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test: 20261017101522318104
+     *
+     * <p>
+     * Method: <code>withIdleTimeout(Duration, IdleScript)</code>
+     * </p>
+     *
+     * <p>
+     * Case: The idle-script executes once per idle period.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017101522318104 ()
+            throws InterruptedException
+    {
+        final Stage real = Cascade.newStage();
+        final AtomicInteger idles = new AtomicInteger();
+        final AtomicBoolean concurrent = new AtomicBoolean();
+        final AtomicBoolean busy = new AtomicBoolean();
+
+        final Actor<Integer, Integer> actor = real
+                .newActor()
+                .withConsumerScript((Integer x) ->
+                {
+                    concurrent.compareAndSet(false, busy.getAndSet(true));
+                    busy.set(false);
+                })
+                .withIdleTimeout(Duration.ofMillis(50), context ->
+                {
+                    concurrent.compareAndSet(false, busy.getAndSet(true));
+                    idles.incrementAndGet();
+                    busy.set(false);
+                })
+                .create();
+
+        /**
+         * The actor is idle from the moment that it is created.
+         */
+        awaitCount(idles, 1);
+        Thread.sleep(200);
+        assertEquals(1, idles.get());
+
+        /**
+         * Processing a message begins a new period of activity.
+         */
+        actor.input().send(1).send(2);
+        awaitCount(idles, 2);
+        Thread.sleep(200);
+        assertEquals(2, idles.get());
+        assertFalse(concurrent.get());
+
+        real.close();
+    }
+
+    /**
+     * Test: 20261017101522318182
+     *
+     * <p>
+     * Method: <code>withIdleTimeout(Duration, IdleScript)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Continuous activity postpones the idle-script.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017101522318182 ()
+            throws InterruptedException
+    {
+        final Stage real = Cascade.newStage();
+        final AtomicInteger idles = new AtomicInteger();
+        final AtomicInteger inputs = new AtomicInteger();
+
+        final Actor<Integer, Integer> actor = real
+                .newActor()
+                .withConsumerScript((Integer x) -> inputs.incrementAndGet())
+                .withIdleTimeout(Duration.ofMillis(500), context -> idles.incrementAndGet())
+                .create();
+
+        for (int i = 0; i < 20; i++)
+        {
+            actor.input().send(i);
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, idles.get());
+        assertEquals(20, inputs.get());
+
+        awaitCount(idles, 1);
+
+        real.close();
+    }
+
+    /**
+     * Test: 20261017101522318247
+     *
+     * <p>
+     * Method: <code>withIdleTimeout(Duration, IdleScript)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Many actors can have idle-timeouts simultaneously.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017101522318247 ()
+            throws InterruptedException
+    {
+        final Stage real = Cascade.newStage(2);
+        final AtomicInteger idles = new AtomicInteger();
+        final int count = 20_000;
+        final List<Actor<Integer, Integer>> list = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            list.add(real
+                    .newActor()
+                    .withConsumerScript((Integer x) -> {})
+                    .withIdleTimeout(Duration.ofMillis(100 + i % 100), context -> idles.incrementAndGet())
+                    .create());
+        }
+
+        awaitCount(idles, count);
+
+        list.forEach(x -> x.input().send(1));
+        awaitCount(idles, 2 * count);
+
+        real.close();
+    }
+
+    /**
+     * Test: 20261017101522318311
+     *
+     * <p>
+     * Method: <code>withIdleTimeout(Duration, IdleScript)</code>
+     * </p>
+     *
+     * <p>
+     * Case: Exceptions thrown by the idle-script are passed to the error-handler,
+     * and invalid arguments are rejected.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017101522318311 ()
+            throws InterruptedException
+    {
+        final Stage real = Cascade.newStage();
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicBoolean nullMessage = new AtomicBoolean();
+
+        real.newActor()
+                .withConsumerScript((Integer x) -> {})
+                .withContextErrorHandler((context, message, cause) ->
+                {
+                    nullMessage.set(message == null && cause instanceof IllegalStateException);
+                    errors.incrementAndGet();
+                })
+                .withIdleTimeout(Duration.ofMillis(10), context ->
+                {
+                    throw new IllegalStateException();
+                })
+                .create();
+
+        awaitCount(errors, 1);
+        assertTrue(nullMessage.get());
+
+        final Actor.Builder<Integer, Integer> builder = real.newActor().withConsumerScript((Integer x) -> {});
+        assertIllegalArgument("timeout <= 0", () -> builder.withIdleTimeout(Duration.ZERO, context -> {}));
+        assertIllegalArgument("timeout <= 0", () -> builder.withIdleTimeout(Duration.ofMillis(-1), context -> {}));
+
+        real.close();
+    }
+
+    /**
+     * Test: 20261017112040512071
+     *
+     * <p>
+     * Class: <code>ConflatingMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     */
+    @Test
+    public void test20261017112040512071 ()
+    {
+        final ConflatingMailbox<String> mailbox = ConflatingMailbox.create(x -> x.charAt(0));
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A1"));
+        assertTrue(mailbox.offer("B1"));
+        assertTrue(mailbox.offer("A2"));
+        assertTrue(mailbox.offer("C1"));
+        assertTrue(mailbox.offer("B2"));
+        assertTrue(mailbox.offer("A3"));
+        assertEquals(3, mailbox.size());
+        assertEquals(3, mailbox.conflatedCount());
+
+        /**
+         * The keys are in the order of first arrival,
+         * but the values are the newest.
+         */
+        assertEquals("A3", mailbox.poll());
+        assertTrue(mailbox.offer("A4"));
+        assertEquals("B2", mailbox.poll());
+        assertEquals("C1", mailbox.poll());
+        assertEquals("A4", mailbox.poll());
+        assertNull(mailbox.poll());
+        assertEquals(0, mailbox.size());
+        assertEquals(3, mailbox.conflatedCount());
+
+        /**
+         * A replacement is absorbed by the pending message.
+         */
+        assertEquals(1, mailbox.offerPending("A5"));
+        assertEquals(0, mailbox.offerPending("A6"));
+        assertEquals("A6", mailbox.poll());
+        assertEquals(4, mailbox.conflatedCount());
+    }
+
+    /**
+     * Test: 20261017112040512144
+     *
+     * <p>
+     * Class: <code>ConflatingMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Concurrent producers and an actor that only observes the latest value per key.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017112040512144 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(2);
+        final Map<Integer, Integer> latest = new ConcurrentHashMap<>();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicBoolean regressed = new AtomicBoolean();
+        final ConflatingMailbox<int[]> mailbox = ConflatingMailbox.create(x -> x[0]);
+        final int producers = 4;
+        final int updates = 20_000;
+
+        final Actor<int[], int[]> actor = stageToTest
+                .newActor()
+                .withConsumerScript((int[] x) ->
+                {
+                    final Integer previous = latest.put(x[0], x[1]);
+                    regressed.compareAndSet(false, previous != null && previous >= x[1]);
+                    processed.incrementAndGet();
+                })
+                .withMailbox(mailbox)
+                .create();
+
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++)
+        {
+            final int key = p;
+            threads.add(new Thread(() ->
+            {
+                for (int i = 0; i < updates; i++)
+                {
+                    actor.input().send(new int[]{ key, i });
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (mailbox.size() > 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        stageToTest.close();
+        assertTrue(stageToTest.awaitTermination(Duration.ofSeconds(5)));
+
+        /**
+         * Every update was either processed or conflated,
+         * the final update of each key was processed,
+         * and the updates of each key were observed in order.
+         */
+        assertEquals(producers * updates, processed.get() + mailbox.conflatedCount());
+        IntStream.range(0, producers).forEach(k -> assertEquals(updates - 1, (int) latest.get(k)));
+        assertFalse(regressed.get());
+    }
+
+    /**
+     * Test: 20261017120311447025
+     *
+     * <p>
+     * Class: <code>OverwritingArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     */
+    @Test
+    public void test20261017120311447025 ()
+    {
+        final List<String> dropped = new ArrayList<>();
+        final OverwritingArrayMailbox<String> mailbox = OverwritingArrayMailbox.create(3, dropped::add);
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        assertTrue(mailbox.offer("C"));
+        assertTrue(mailbox.offer("D"));
+        assertTrue(mailbox.offer("E"));
+        assertEquals("C", mailbox.poll());
+        assertTrue(mailbox.offer("F"));
+        assertEquals("D", mailbox.poll());
+        assertEquals("E", mailbox.poll());
+        assertEquals("F", mailbox.poll());
+        assertNull(mailbox.poll());
+        assertEquals(Arrays.asList("A", "B"), dropped);
+        assertEquals(2, mailbox.overwrittenCount());
+
+        /**
+         * Exceptions thrown by the callback are ignored.
+         */
+        final OverwritingArrayMailbox<String> throwing = OverwritingArrayMailbox.create(1, x ->
+        {
+            throw new IllegalStateException();
+        });
+        assertTrue(throwing.offer("X"));
+        assertTrue(throwing.offer("Y"));
+        assertEquals("Y", throwing.poll());
+        assertEquals(1, throwing.overwrittenCount());
+
+        try
+        {
+            throwing.offer(null);
+            fail();
+        }
+        catch (NullPointerException ex)
+        {
+            assertEquals("message", ex.getMessage());
+        }
+
+        assertNull(throwing.poll());
+
+        assertIllegalArgument("capacity < 1", () -> OverwritingArrayMailbox.create(0));
+    }
+
+    /**
+     * Test: 20261017120311447103
+     *
+     * <p>
+     * Class: <code>OverwritingArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Sustained overload from concurrent producers.
+     * Every message is either polled or overwritten exactly once,
+     * and the messages of each producer are polled in order.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017120311447103 ()
+            throws InterruptedException
+    {
+        final OverwritingArrayMailbox<long[]> mailbox = OverwritingArrayMailbox.create(64);
+        final int producers = 3;
+        final int count = 200_000;
+        final AtomicBoolean done = new AtomicBoolean();
+        final long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        final AtomicInteger polled = new AtomicInteger();
+        final AtomicBoolean disordered = new AtomicBoolean();
+
+        final Thread consumer = new Thread(() ->
+        {
+            while (true)
+            {
+                final boolean finished = done.get();
+                final long[] message = mailbox.poll();
+
+                if (message == null && finished)
+                {
+                    break;
+                }
+                else if (message != null)
+                {
+                    polled.incrementAndGet();
+                    disordered.compareAndSet(false, message[1] <= last[(int) message[0]]);
+                    last[(int) message[0]] = message[1];
+                }
+            }
+        });
+
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++)
+        {
+            final int id = p;
+            threads.add(new Thread(() ->
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    mailbox.offer(new long[]{ id, i });
+                }
+            }));
+        }
+
+        consumer.start();
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        done.set(true);
+        consumer.join();
+
+        assertFalse(disordered.get());
+        assertEquals(producers * count, polled.get() + mailbox.overwrittenCount());
+        assertNull(mailbox.poll());
+    }
+
+    /**
+     * Test: 20261017124706230518
+     *
+     * <p>
+     * Class: <code>PriorityLaneMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Strict priority, FIFO order within each lane, and per-lane capacity.
+     * </p>
+     */
+    @Test
+    public void test20261017124706230518 ()
+    {
+        final PriorityLaneMailbox<String> mailbox = PriorityLaneMailbox.create(x -> x.charAt(0) - 'A', 4, 2, 8);
+        assertEquals(3, mailbox.laneCount());
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("C1"));
+        assertTrue(mailbox.offer("B1"));
+        assertTrue(mailbox.offer("C2"));
+        assertTrue(mailbox.offer("A1"));
+        assertTrue(mailbox.offer("B2"));
+        assertFalse(mailbox.offer("B3"));
+        assertTrue(mailbox.offer("A2"));
+        assertEquals("A1", mailbox.poll());
+        assertEquals("A2", mailbox.poll());
+        assertEquals("B1", mailbox.poll());
+        assertTrue(mailbox.offer("A3"));
+        assertEquals("A3", mailbox.poll());
+        assertEquals("B2", mailbox.poll());
+        assertEquals("C1", mailbox.poll());
+        assertEquals("C2", mailbox.poll());
+        assertNull(mailbox.poll());
+
+        try
+        {
+            mailbox.offer("D1");
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex)
+        {
+            // Pass.
+        }
+    }
+
+    /**
+     * Test: 20261017124706230590
+     *
+     * <p>
+     * Class: <code>PriorityLaneMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Weighted lanes prevent starvation of lower priorities.
+     * </p>
+     */
+    @Test
+    public void test20261017124706230590 ()
+    {
+        final PriorityLaneMailbox<String> mailbox = PriorityLaneMailbox.create(x -> x.charAt(0) - 'A',
+                                                                               new int[]{ 16, 16 },
+                                                                               new int[]{ 3, 1 });
+
+        IntStream.range(0, 8).forEach(i -> mailbox.offer("A" + i));
+        IntStream.range(0, 3).forEach(i -> mailbox.offer("B" + i));
+
+        final List<String> order = new ArrayList<>();
+        String message;
+
+        while ((message = mailbox.poll()) != null)
+        {
+            order.add(message);
+        }
+
+        assertEquals(Arrays.asList("A0", "A1", "A2", "B0",
+                                   "A3", "A4", "A5", "B1",
+                                   "A6", "A7", "B2"), order);
+
+        assertIllegalArgument("lanes < 1", () -> PriorityLaneMailbox.create(x -> 0));
+        assertIllegalArgument("weights.length != capacities.length", () -> PriorityLaneMailbox.create(x -> 0, new int[]{ 1 }, new int[]{ 1, 1 }));
+        assertIllegalArgument("weight < 1", () -> PriorityLaneMailbox.create(x -> 0, new int[]{ 1 }, new int[]{ 0 }));
+        assertIllegalArgument("capacity", () -> PriorityLaneMailbox.create(x -> 0, 0));
+        assertIllegalArgument("capacity is not a power-of-two", () -> PriorityLaneMailbox.create(x -> 0, 4, 3));
+    }
+
+    /**
+     * Test: 20261017124706230663
+     *
+     * <p>
+     * Class: <code>PriorityLaneMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor processes control messages ahead of a backlog of bulk messages.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017124706230663 ()
+            throws InterruptedException
+    {
+        final List<Integer> log = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withConsumerScript((Integer x) -> log.add(x))
+                .withMailbox(PriorityLaneMailbox.create((Integer x) -> x < 0 ? 0 : 1, 16, 1024))
+                .create();
+
+        IntStream.range(0, 100).forEach(i -> actor.input().send(i));
+        actor.input().send(-1);
+        stage.crank();
+
+        assertEquals(101, log.size());
+        assertEquals(-1, (int) log.get(0));
+    }
+
+    /**
+     * Test: 20261017132251806344
+     *
+     * <p>
+     * Class: <code>ExpiringMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Messages that outlive the time-to-live are skipped and counted.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017132251806344 ()
+            throws InterruptedException
+    {
+        final List<String> expired = new ArrayList<>();
+        final ExpiringMailbox<String> mailbox = ExpiringMailbox.create(ConcurrentLinkedQueueMailbox.create(),
+                                                                       Duration.ofMillis(50),
+                                                                       expired::add);
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        Thread.sleep(100);
+        assertTrue(mailbox.offer("C"));
+        assertEquals("C", mailbox.poll());
+        assertNull(mailbox.poll());
+        assertEquals(Arrays.asList("A", "B"), expired);
+        assertEquals(2, mailbox.expiredCount());
+
+        assertIllegalArgument("timeToLive <= 0", () -> ExpiringMailbox.create(ConcurrentLinkedQueueMailbox.create(), Duration.ZERO));
+    }
+
+    /**
+     * Test: 20261017132251806421
+     *
+     * <p>
+     * Class: <code>ExpiringMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Deadlines obtained from the messages themselves.
+     * The script of the actor never sees the expired messages.
+     * </p>
+     */
+    @Test
+    public void test20261017132251806421 ()
+    {
+        final List<String> log = new ArrayList<>();
+        final Map<String, Instant> deadlines = new HashMap<>();
+        final Instant now = Instant.now();
+        deadlines.put("past", now.minusSeconds(1));
+        deadlines.put("ancient", Instant.MIN);
+        deadlines.put("future", now.plusSeconds(60));
+        deadlines.put("forever", Instant.MAX);
+
+        final ExpiringMailbox<String> mailbox = ExpiringMailbox.create(ArrayDequeMailbox.create(0, 16),
+                                                                       deadlines::get,
+                                                                       x -> log.add("E:" + x));
+
+        final Actor<String, String> actor = stage
+                .newActor()
+                .withConsumerScript((String x) -> log.add(x))
+                .withMailbox(mailbox)
+                .create();
+
+        actor.input().send("past").send("future").send("ancient").send("none").send("forever");
+        stage.crank();
+
+        assertEquals(Arrays.asList("E:past", "future", "E:ancient", "none", "forever"), log);
+        assertEquals(2, mailbox.expiredCount());
+    }
+
+    /**
+     * Test: 20261017134418925607
+     *
+     * <p>
+     * Class: <code>DeduplicatingMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Basic Functionality.
+     * </p>
+     */
+    @Test
+    public void test20261017134418925607 ()
+    {
+        final DeduplicatingMailbox<String> mailbox = DeduplicatingMailbox.create();
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        assertTrue(mailbox.offer("A"));
+        assertTrue(mailbox.offer("B"));
+        assertTrue(mailbox.offer("C"));
+        assertEquals(3, mailbox.size());
+        assertEquals(2, mailbox.duplicateCount());
+        assertEquals("A", mailbox.poll());
+
+        /**
+         * Once polled, an equal message can be enqueued again.
+         */
+        assertTrue(mailbox.offer("A"));
+        assertEquals("B", mailbox.poll());
+        assertEquals("C", mailbox.poll());
+        assertEquals("A", mailbox.poll());
+        assertNull(mailbox.poll());
+        assertEquals(0, mailbox.size());
+        assertEquals(2, mailbox.duplicateCount());
+    }
+
+    /**
+     * Test: 20261017134418925688
+     *
+     * <p>
+     * Class: <code>DeduplicatingMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: A burst of identical signals is processed once per distinct message.
+     * </p>
+     */
+    @Test
+    public void test20261017134418925688 ()
+            throws Exception
+    {
+        final List<String> log = new ArrayList<>();
+        final DeduplicatingMailbox<String> mailbox = DeduplicatingMailbox.create();
+
+        final Actor<String, String> actor = stage
+                .newActor()
+                .withConsumerScript((String x) -> log.add(x))
+                .withMailbox(mailbox)
+                .create();
+
+        for (int i = 0; i < 100; i++)
+        {
+            actor.input().send("invalidate:X").send("invalidate:Y");
+        }
+
+        /**
+         * The duplicates are absorbed; therefore, only two cranks are pending.
+         */
+        assertEquals(8L, (long) getField(actor, "state", Long.class));
+        assertEquals(0, mailbox.offerPending("invalidate:X"));
+
+        stage.crank();
+
+        assertEquals(Arrays.asList("invalidate:X", "invalidate:Y"), log);
+        assertEquals(199, mailbox.duplicateCount());
+        assertEquals(2, stage.executionCounters.get(actor).get());
+        assertEquals(0L, (long) getField(actor, "state", Long.class));
+        assertEquals(1, mailbox.offerPending("invalidate:X"));
+    }
+
+    /**
+     * Test: 20261017150207331402
+     *
+     * <p>
+     * Method: <code>defaultMailbox(Supplier)</code>
+     * </p>
+     *
+     * <p>
+     * Case: The default mailbox is not created, if the actor is given a mailbox explicitly.
+     * </p>
+     */
+    @Test
+    public void test20261017150207331402 ()
+    {
+        final AtomicInteger created = new AtomicInteger();
+
+        stage.defaultMailbox(() ->
+        {
+            created.incrementAndGet();
+            return ConcurrentLinkedQueueMailbox.create();
+        });
+
+        final Actor.Builder<String, String> builder = stage.newActor().withFunctionScript((String x) -> x);
+        builder.withMailbox(LinkedBlockingQueueMailbox.create()).create();
+        assertEquals(0, created.get());
+
+        builder.create();
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Test: 20261017152940118250
+     *
+     * <p>
+     * Class: <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: The slots of a batch are freed, as the messages are passed to the consumer,
+     * so that the producer is not rejected while the consumer processes the batch.
+     * </p>
+     */
+    @Test
+    public void test20261017152940118250 ()
+    {
+        final Mailbox<Integer> mailbox = SpscArrayMailbox.create(4);
+        final List<Integer> log = new ArrayList<>();
+        final List<Boolean> accepted = new ArrayList<>();
+
+        assertEquals(4, mailbox.offerAll(Arrays.asList(1, 2, 3, 4)));
+
+        mailbox.drain(x ->
+        {
+            log.add(x);
+            accepted.add(mailbox.offer(x + 10));
+        }, 4);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), log);
+        assertEquals(Arrays.asList(true, true, true, true), accepted);
+        assertEquals(4, mailbox.drain(log::add, 8));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 11, 12, 13, 14), log);
+    }
+
+    /**
+     * Test: 20261017152940118331
+     *
+     * <p>
+     * Method: <code>Mailbox.drain()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Lock-based mailboxes reuse their batch buffer, even if the consumer throws.
+     * </p>
+     */
+    @Test
+    public void test20261017152940118331 ()
+    {
+        final List<Mailbox<Integer>> mailboxes = Arrays.asList(
+                LinkedBlockingQueueMailbox.create(),
+                ArrayBlockingQueueMailbox.create(16),
+                PriorityBlockingQueueMailbox.create(4, Integer::compare),
+                ArrayDequeMailbox.create(4, 16),
+                CircularArrayDequeMailbox.create(4, 16));
+
+        for (Mailbox<Integer> mailbox : mailboxes)
+        {
+            final List<Integer> log = new ArrayList<>();
+            mailbox.offerAll(Arrays.asList(1, 2, 3, 4, 5));
+
+            try
+            {
+                mailbox.drain(x ->
+                {
+                    if (x == 2)
+                    {
+                        throw new IllegalStateException();
+                    }
+
+                    log.add(x);
+                }, 3);
+                fail();
+            }
+            catch (IllegalStateException ex)
+            {
+                // Pass.
+            }
+
+            assertEquals(2, mailbox.drain(log::add, 8));
+            assertEquals(Arrays.asList(1, 4, 5), log);
+        }
+    }
+
+    /**
+     * Test: 20261017160412503118
+     *
+     * <p>
+     * Class: <code>EventLoopStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor pushed onto a lane, after the worker exited, is rejected, rather than stranded.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017160412503118 ()
+            throws Exception
+    {
+        final EventLoopStage stageToTest = Cascade.newShardedStage(1, true);
+        final Actor<String, String> actor = stageToTest.newActor(0).withFunctionScript((String x) -> x).create();
+        final Object worker = getField(stageToTest, "workers", Object[].class)[0];
+        final Thread thread = getField(worker, "thread", Thread.class);
+
+        stageToTest.close();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+
+        final Method push = worker.getClass().getDeclaredMethod("push", DefaultActor.class);
+        push.setAccessible(true);
+
+        try
+        {
+            push.invoke(worker, actor);
+            fail();
+        }
+        catch (InvocationTargetException ex)
+        {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    /**
+     * Test: 20261017161733208471
+     *
+     * <p>
+     * Class: <code>WorkStealingStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor that keeps re-scheduling itself does not starve
+     * the other actors in the local deque of the worker thread.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017161733208471 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newWorkStealingStage(1, true);
+        final int limit = 10_000;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger hotCount = new AtomicInteger();
+        final AtomicInteger hotCountWhenColdRan = new AtomicInteger(-1);
+
+        final Actor<Integer, Integer> cold = stageToTest
+                .newActor()
+                .withConsumerScript((Integer x) ->
+                {
+                    hotCountWhenColdRan.set(hotCount.get());
+                    latch.countDown();
+                })
+                .create();
+
+        /**
+         * The hot actor wakes the cold actor once and then keeps sending messages to itself.
+         */
+        final Actor<Integer, Integer> hot = stageToTest
+                .newActor()
+                .withContextScript((Context<Integer, Integer> context, Integer x) ->
+                {
+                    if (x == 0)
+                    {
+                        context.sendFrom(x);
+                    }
+
+                    if (hotCount.incrementAndGet() < limit && latch.getCount() != 0)
+                    {
+                        context.sendTo(x + 1);
+                    }
+                })
+                .create();
+
+        hot.output().connect(cold.input());
+        hot.input().send(0);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(hotCountWhenColdRan.get() < 10);
+
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017163321407265
+     *
+     * <p>
+     * Class: <code>ElasticStage</code>
+     * </p>
+     *
+     * <p>
+     * Case: The controller keeps running, even if an adjustment throws an exception.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017163321407265 ()
+            throws Exception
+    {
+        final ElasticStage stageToTest = Cascade.newElasticStage(1, 100, true, Duration.ofMillis(10), Duration.ofMillis(20));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final Actor<String, String> blocker = stageToTest
+                .newActor()
+                .withConsumerScript((String x) ->
+                {
+                    started.countDown();
+                    release.await();
+                })
+                .create();
+
+        final Actor<String, String> lagger = stageToTest.newActor().withConsumerScript((String x) -> {}).create();
+
+        blocker.input().send("X");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        /**
+         * Every attempt to grow the pool, hereafter, will throw an exception.
+         */
+        getField(stageToTest, "service", ThreadPoolExecutor.class).setThreadFactory((Runnable task) ->
+        {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Simulated Failure");
+        });
+
+        /**
+         * The target lag is long enough that the blocker alone does not grow the pool;
+         * whereas, the lagger waits for entire periods, which exceeds the target lag.
+         */
+        lagger.input().send("Y");
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline && attempts.get() < 3)
+        {
+            Thread.sleep(1);
+        }
+
+        assertTrue(attempts.get() >= 3);
+
+        release.countDown();
+        stageToTest.close();
+    }
+
+    /**
+     * Test: 20261017165102664913
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.callerRuns()</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor rejected on the thread of the timing-wheel is overflowed, rather than run inline.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017165102664913 ()
+            throws InterruptedException
+    {
+        final RejectingStage stageToTest = new RejectingStage();
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final Actor<String, String> actor = stageToTest
+                .newActor()
+                .withConsumerScript((String x) -> results.add(x + Thread.currentThread().getName()))
+                .create();
+
+        stageToTest.overloadPolicy(OverloadPolicy.callerRuns());
+
+        actor.input().sendAfter("A", Duration.ofMillis(1));
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (stageToTest.overflowCount() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(1, stageToTest.overflowCount());
+        assertEquals(0, stageToTest.callerRunsCount());
+        assertEquals(List.of(), results);
+
+        stageToTest.full.set(false);
+
+        while (results.isEmpty() && System.nanoTime() < deadline)
+        {
+            stageToTest.crank();
+            Thread.sleep(1);
+        }
+
+        assertEquals(List.of("A" + Thread.currentThread().getName()), results);
+        assertFalse(stageToTest.closed.get());
+    }
+
+    /**
+     * Test: 20261017165102664998
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.retry()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The backoff saturates at the maximum, rather than overflowing, after many attempts.
+     * </p>
+     */
+    @Test
+    public void test20261017165102664998 ()
+    {
+        final Duration initial = Duration.ofSeconds(Long.MAX_VALUE / 4);
+        final Duration max = Duration.ofSeconds(Long.MAX_VALUE / 2);
+        final OverloadPolicy policy = OverloadPolicy.retry(initial, max);
+        final List<Duration> delays = new ArrayList<>();
+
+        for (int attempt : new int[]
+        {
+            1, 2, 3, 31, 32, 64, 65, Integer.MAX_VALUE
+        })
+        {
+            policy.onRejected(new OverloadPolicy.Rejection()
+            {
+                @Override
+                public Actor<?, ?> actor ()
+                {
+                    return null;
+                }
+
+                @Override
+                public Throwable cause ()
+                {
+                    return null;
+                }
+
+                @Override
+                public int attempt ()
+                {
+                    return attempt;
+                }
+
+                @Override
+                public void retry ()
+                {
+                    fail();
+                }
+
+                @Override
+                public void retryAfter (final Duration delay)
+                {
+                    delays.add(delay);
+                }
+
+                @Override
+                public void runOnCaller ()
+                {
+                    fail();
+                }
+
+                @Override
+                public void overflow ()
+                {
+                    fail();
+                }
+
+                @Override
+                public void closeStage ()
+                {
+                    fail();
+                }
+            });
+        }
+
+        assertEquals(List.of(initial, initial.multipliedBy(2), max, max, max, max, max, max), delays);
+    }
+
+    /**
+     * Test: 20261017171845093561
+     *
+     * <p>
+     * Class: <code>TimingWheel</code>
+     * </p>
+     *
+     * <p>
+     * Case: An exception thrown by a task is reported to the uncaught-exception handler,
+     * and the wheel keeps running.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017171845093561 ()
+            throws Exception
+    {
+        final TimingWheel wheel = TimingWheel.create(Duration.ofMillis(1));
+        final List<Throwable> reported = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final IllegalStateException failure = new IllegalStateException("Simulated Failure");
+
+        getField(wheel, "thread", Thread.class).setUncaughtExceptionHandler((thread, ex) -> reported.add(ex));
+
+        wheel.schedule(() ->
+        {
+            throw failure;
+        }, Duration.ZERO);
+
+        wheel.schedule(latch::countDown, Duration.ofMillis(2));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(failure), reported);
+
+        wheel.close();
+    }
+
+    /**
+     * Test: 20261017174012285730
+     *
+     * <p>
+     * Method: <code>withBatchScript()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The wake-up that flushes a lingering batch is not counted as a pending message.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017174012285730 ()
+            throws Exception
+    {
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withBatchScript((Context<Integer, Integer> context, List<Integer> batch) ->
+                {
+                    batches.add(new ArrayList<>(batch));
+                }, 100, Duration.ofMillis(50))
+                .create();
+
+        actor.input().send(1).send(2);
+        stage.crank();
+
+        /**
+         * The batch is lingering; therefore, the timer will request a wake-up.
+         */
+        assertEquals(List.of(), batches);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline && (long) getField(actor, "state", Long.class) == 0L)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(2L, (long) getField(actor, "state", Long.class));
+        assertEquals(Map.of(actor, 2L), stage.unprocessed());
+
+        assertEquals(2, stage.executionCounters.get(actor).get());
+
+        /**
+         * The wake-up runs the actor exactly once, without a phantom pending message.
+         */
+        stage.crank();
+        assertEquals(List.of(List.of(1, 2)), batches);
+        assertEquals(2, stage.executionCounters.get(actor).get());
+        assertEquals(0L, (long) getField(actor, "state", Long.class));
+        assertEquals(Map.of(), stage.unprocessed());
+    }
+
+    /**
+     * Test: 20261017183104551207
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A delayed send, which was scheduled before the shutdown, is still delivered.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017183104551207 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(1);
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final Actor<String, String> actor = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        final TimingWheel.Timeout timeout = actor.input().sendAfter("A", Duration.ofMillis(200));
+        stageToTest.shutdown(Duration.ofSeconds(5));
+
+        /**
+         * The delayed message is counted, while the delay has not expired yet.
+         */
+        assertEquals(Map.of(actor, 1L), stageToTest.unprocessed());
+        assertFalse(stageToTest.awaitTermination(Duration.ZERO));
+
+        /**
+         * Delayed sends from outside of the stage are no longer admitted.
+         */
+        assertTrue(actor.input().sendAfter("B", Duration.ZERO).isCancelled());
+
+        assertTrue(stageToTest.awaitTermination(Duration.ofSeconds(5)));
+        assertEquals(List.of("A"), results);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.isCancelled());
+        assertTrue(stageToTest.unprocessed().isEmpty());
+    }
+
+    /**
+     * Test: 20261017183104551292
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Periodic sends are cancelled and do not prevent the stage from closing.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017183104551292 ()
+            throws InterruptedException
+    {
+        final Actor<String, String> actor = stage.newActor().withConsumerScript((String x) -> {}).create();
+
+        final TimingWheel.Timeout first = actor.input().sendEvery("A", Duration.ofHours(1));
+        final TimingWheel.Timeout second = actor.context().sendToEvery("B", Duration.ofHours(1));
+        assertTrue(second.cancel());
+        assertFalse(second.cancel());
+
+        stage.shutdown(Duration.ofHours(1));
+
+        assertTrue(first.isCancelled());
+        assertFalse(first.isExpired());
+        assertFalse(first.cancel());
+        assertTrue(stage.awaitTermination(Duration.ZERO));
+        assertEquals("CLOSE", stage.whatHappened.get(stage.whatHappened.size() - 1).getKey());
+    }
+
+    /**
+     * Test: 20261017183104551366
+     *
+     * <p>
+     * Method: <code>unprocessed()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A delayed send, which is still pending, when the stage closes, is reported as unprocessed.
+     * </p>
+     */
+    @Test
+    public void test20261017183104551366 ()
+    {
+        final Actor<String, String> actor = stage.newActor().withConsumerScript((String x) -> {}).create();
+
+        final TimingWheel.Timeout cancelled = actor.input().sendAfter("A", Duration.ofHours(1));
+        assertEquals(Map.of(actor, 1L), stage.unprocessed());
+        assertTrue(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(Map.of(), stage.unprocessed());
+
+        actor.context().sendToAfter("B", Duration.ofHours(1));
+        stage.close();
+
+        assertEquals(Map.of(actor, 1L), stage.unprocessed());
+        assertTrue(actor.input().sendAfter("C", Duration.ZERO).isCancelled());
+        assertEquals(Map.of(actor, 1L), stage.unprocessed());
+    }
+
+    /**
+     * Test: 20261017183104551438
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: A lingering batch is flushed immediately and then the stage closes.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017183104551438 ()
+            throws Exception
+    {
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        final Actor<Integer, Integer> actor = stage
+                .newActor()
+                .withBatchScript((Context<Integer, Integer> context, List<Integer> batch) ->
+                {
+                    batches.add(new ArrayList<>(batch));
+                }, 100, Duration.ofHours(1))
+                .create();
+
+        actor.input().send(1).send(2);
+        stage.crank();
+        assertEquals(List.of(), batches);
+        assertEquals(Map.of(actor, 2L), stage.unprocessed());
+
+        /**
+         * The shutdown wakes the actor, rather than waiting for the linger to expire.
+         */
+        stage.shutdown(Duration.ofHours(1));
+        assertFalse(stage.awaitTermination(Duration.ZERO));
+        stage.crank();
+
+        assertEquals(List.of(List.of(1, 2)), batches);
+        assertTrue(stage.awaitTermination(Duration.ZERO));
+        assertEquals(Map.of(), stage.unprocessed());
+    }
+
+    /**
+     * Test: 20261017183104551511
+     *
+     * <p>
+     * Method: <code>inlineDispatch()</code>, <code>fusion()</code>, and <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: The actors only record the stage in the thread-local frame, when necessary.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017183104551511 ()
+            throws Exception
+    {
+        final Field field = AbstractStage.class.getDeclaredField("framing");
+        field.setAccessible(true);
+
+        assertFalse(field.getBoolean(stage));
+        stage.inlineDispatch(1);
+        assertTrue(field.getBoolean(stage));
+        stage.inlineDispatch(0);
+        assertFalse(field.getBoolean(stage));
+        stage.fusion(true);
+        assertTrue(field.getBoolean(stage));
+        stage.fusion(false);
+        assertFalse(field.getBoolean(stage));
+
+        /**
+         * An actor that sends a message to the next actor keeps the stage busy.
+         */
+        final List<String> results = new ArrayList<>();
+        final Actor<String, String> source = stage.newActor().withFunctionScript((String x) -> x).create();
+        final Actor<String, String> sink = stage.newActor().withConsumerScript((String x) -> results.add(x)).create();
+        source.output().connect(sink.input());
+        source.input().send("A");
+
+        stage.shutdown(Duration.ofHours(1));
+        assertTrue(field.getBoolean(stage));
+
+        stage.crank();
+        assertEquals(List.of("A"), results);
+        assertTrue(stage.awaitTermination(Duration.ZERO));
+    }
+
+    /**
+     * Test: 20261017183104551583
+     *
+     * <p>
+     * Method: <code>shutdown()</code>
+     * </p>
+     *
+     * <p>
+     * Case: An actor, which began running before the shutdown, can still send to the next actor.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017183104551583 ()
+            throws InterruptedException
+    {
+        final Stage stageToTest = Cascade.newStage(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> results = new CopyOnWriteArrayList<>();
+
+        final Actor<String, String> source = stageToTest
+                .newActor()
+                .withFunctionScript((String x) ->
+                {
+                    started.countDown();
+                    release.await();
+                    return x;
+                })
+                .create();
+
+        final Actor<String, String> sink = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+        source.output().connect(sink.input());
+
+        source.input().send("A");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        stageToTest.shutdown(Duration.ofSeconds(5));
+        assertFalse(sink.input().offer("B"));
+        release.countDown();
+
+        assertTrue(stageToTest.awaitTermination(Duration.ofSeconds(5)));
+        assertEquals(List.of("A"), results);
+        assertTrue(stageToTest.unprocessed().isEmpty());
+    }
+
+    /**
+     * Test: 20261017190214733018
+     *
+     * <p>
+     * Class: <code>MpscArrayMailbox</code>, <code>MpscChunkedMailbox</code>, and <code>SpscArrayMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: Null messages are rejected, rather than published into a slot.
+     * </p>
+     */
+    @Test
+    public void test20261017190214733018 ()
+    {
+        final List<Mailbox<String>> mailboxes = List.of(MpscArrayMailbox.create(4),
+                                                        MpscChunkedMailbox.create(4),
+                                                        SpscArrayMailbox.create(4));
+
+        for (Mailbox<String> mailbox : mailboxes)
+        {
+            try
+            {
+                mailbox.offer(null);
+                fail();
+            }
+            catch (NullPointerException ex)
+            {
+                assertEquals("message", ex.getMessage());
+            }
+
+            /**
+             * None of the batch is published, if any of the messages is null.
+             */
+            try
+            {
+                mailbox.offerAll(Arrays.asList("A", null, "B"));
+                fail();
+            }
+            catch (NullPointerException ex)
+            {
+                assertEquals("message", ex.getMessage());
+            }
+
+            assertNull(mailbox.poll());
+            assertTrue(mailbox.offer("C"));
+            assertEquals("C", mailbox.poll());
+            assertNull(mailbox.poll());
+        }
+    }
+
+    /**
+     * Test: 20261017191507802264
+     *
+     * <p>
+     * Method: <code>fusion()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Once the stage is closed, a fused chain stops, just like an unfused chain.
+     * </p>
+     */
+    @Test
+    public void test20261017191507802264 ()
+    {
+        for (boolean enabled : List.of(true, false))
+        {
+            final CrankedStage stageToTest = new CrankedStage();
+            final List<String> results = new ArrayList<>();
+            stageToTest.fusion(enabled);
+
+            final Actor<String, String> head = stageToTest.newActor().withFunctionScript((String x) ->
+            {
+                results.add("H" + x);
+                stageToTest.close();
+                return x;
+            }).create();
+
+            final Actor<String, String> tail = stageToTest.newActor().withConsumerScript((String x) -> results.add("T" + x)).create();
+            head.output().connect(tail.input());
+
+            head.input().send("X");
+            stageToTest.crank();
+
+            assertEquals(List.of("HX"), results);
+            assertEquals(Set.of(head), stageToTest.executionCounters.keySet());
+        }
+    }
+
+    /**
+     * Test: 20261017192236118405
+     *
+     * <p>
+     * Method: <code>OverloadPolicy.Rejection.retry()</code>
+     * </p>
+     *
+     * <p>
+     * Case: Immediate retries are bounded, rather than overflowing the stack.
+     * </p>
+     *
+     * @throws java.lang.InterruptedException
+     */
+    @Test
+    public void test20261017192236118405 ()
+            throws InterruptedException
+    {
+        final RejectingStage stageToTest = new RejectingStage();
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final Actor<String, String> actor = stageToTest.newActor().withConsumerScript((String x) -> results.add(x)).create();
+
+        stageToTest.overloadPolicy(rejection -> rejection.retry());
+
+        /**
+         * Each retry is rejected again; therefore, the actor eventually overflows.
+         */
+        actor.input().send("A");
+        assertEquals(16, stageToTest.retryCount());
+        assertTrue(stageToTest.rejectionCount() >= 17);
+        assertEquals(1, stageToTest.overflowCount());
+        assertFalse(stageToTest.closed.get());
+
+        /**
+         * The overflow list is resubmitted, once capacity frees up.
+         */
+        stageToTest.full.set(false);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (stageToTest.crank() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(List.of("A"), results);
+        assertEquals(16, stageToTest.retryCount());
+    }
+
+    /**
+     * Test: 20261017193648027731
+     *
+     * <p>
+     * Class: <code>ConflatingMailbox</code>
+     * </p>
+     *
+     * <p>
+     * Case: A burst of updates to a slow actor only causes one execution per key.
+     * </p>
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test20261017193648027731 ()
+            throws Exception
+    {
+        final List<String> results = new ArrayList<>();
+
+        final Actor<String, String> actor = stage
+                .newActor()
+                .withConsumerScript((String x) -> results.add(x))
+                .withMailbox(ConflatingMailbox.create((String x) -> x.charAt(0)))
+                .create();
+
+        for (int i = 0; i < 100; i++)
+        {
+            actor.input().send("A" + i).send("B" + i);
+        }
+
+        /**
+         * Only the first update of each key needs a crank.
+         */
+        assertEquals(8L, (long) getField(actor, "state", Long.class));
+        assertEquals(Map.of(actor, 2L), stage.unprocessed());
+
+        stage.crank();
+        assertEquals(List.of("A99", "B99"), results);
+        assertEquals(2, stage.executionCounters.get(actor).get());
+        assertEquals(0L, (long) getField(actor, "state", Long.class));
+    }
+
+    private static void awaitCount (final AtomicInteger counter,
+                                    final int expected)
+            throws InterruptedException
+    {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (counter.get() < expected && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertEquals(expected, counter.get());
+    }
 }